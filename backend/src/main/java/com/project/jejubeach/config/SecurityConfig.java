@@ -1,5 +1,6 @@
 package com.project.jejubeach.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -38,6 +39,9 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .authorizeHttpRequests(auth -> auth
+                // SSE 등 비동기 응답 완료 시의 재디스패치는 최초 요청에서 이미 인가됨
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+
                 // 정적 리소스 (프론트엔드 파일들) - 최우선 허용
                 .requestMatchers("/assets/**", "/favicon.ico", "/manifest.json", "/robots.txt", "/static/**", "/css/**", "/js/**", "/images/**").permitAll()
                 
@@ -67,7 +71,7 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.GET, "/api/detections/**").permitAll()
                 
                 // AI 모델에서 보내는 탐지 데이터 저장 (비로그인 사용자도 접근 가능)
-                .requestMatchers(HttpMethod.POST, "/api/detections").permitAll()
+                .requestMatchers(HttpMethod.POST, "/api/detections", "/api/detections/batch").permitAll()
                 
                 // 해변 조회는 모든 사용자에게 허용
                 .requestMatchers(HttpMethod.GET, "/api/beaches").permitAll()      // 해변 목록 조회
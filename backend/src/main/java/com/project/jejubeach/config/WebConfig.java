@@ -19,15 +19,7 @@ public class WebConfig implements WebMvcConfigurer {
             .addResourceLocations("classpath:/static/assets/", "classpath:/static/")
             .setCachePeriod(3600); // 1시간 캐시
     
-    // /videos/** URL 경로를 classpath:/videos/ 폴더에 매핑 (JAR 내부)
-    registry
-            .addResourceHandler("/videos/**")
-            .addResourceLocations("classpath:/videos/");
-    
-    // 동영상 파일 직접 접근 허용
-    registry
-            .addResourceHandler("/*.mp4")
-            .addResourceLocations("classpath:/videos/");
+    // 동영상(/videos/**)은 VideoStreamController가 video.storage-dir에서 Range 지원으로 직접 전송
     
     // 기타 정적 리소스 처리 (fallback)
     registry
@@ -1,16 +1,20 @@
 package com.project.jejubeach.controller;
 
+import com.project.jejubeach.service.AIModelLogBuffer;
 import com.project.jejubeach.service.AIModelService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -21,9 +25,10 @@ import java.util.Map;
 public class AIModelController {
 
     private final AIModelService aiModelService;
+    private final AIModelLogBuffer logBuffer;
 
     @GetMapping("/status")
-    @Operation(summary = "AI 모델 상태 확인", description = "현재 AI 모델의 실행 상태를 확인합니다.")
+    @Operation(summary = "AI 모델 상태 확인", description = "현재 AI 모델의 실행 상태와 자동 재시작 횟수, 연속 실행 시간, 마지막 heartbeat 이후 경과 시간, 워커 풀과 해변별 마지막 분석 시각, 분석 일정(간격과 그 이유), 해변별 추론 성능 지표(추론 시간, 처리 프레임 수, FPS, 큐 대기, 커밋까지 지연)를 확인합니다.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "상태 확인 성공")
     })
@@ -34,27 +39,64 @@ public class AIModelController {
         status.put("timestamp", System.currentTimeMillis());
         status.put("runningTime", aiModelService.getRunningTime());
         status.put("analysisCount", aiModelService.getAnalysisCount());
+        status.put("supervising", aiModelService.isSupervising());
+        status.put("restartCount", aiModelService.getRestartCount());
+        status.put("uptime", aiModelService.getUptime());
+        status.put("lastHeartbeatAge", aiModelService.getLastHeartbeatAge());
+        // stdio 워커 풀 상태와 해변별 분석 신선도
+        status.put("workers", aiModelService.getWorkerPoolStats());
+        status.put("beaches", aiModelService.getBeachFreshness());
+        status.put("schedule", aiModelService.getScheduleStats());
+        status.put("metrics", aiModelService.getMetrics());
         
         return ResponseEntity.ok(status);
     }
     
     @GetMapping("/info")
-    @Operation(summary = "AI 모델 정보", description = "AI 모델의 상세 정보를 확인합니다.")
+    @Operation(summary = "AI 모델 정보", description = "현재 적용 중인 AI 모델 실행 설정(Python 경로, 작업 디렉토리, 스크립트, 분석 간격, 전송 방식, 워커 수)을 확인합니다.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "정보 확인 성공")
     })
     public ResponseEntity<Map<String, Object>> getInfo() {
-        Map<String, Object> info = new HashMap<>();
-        info.put("pythonPath", "python");
-        info.put("workingDir", "../beach_project");
-        info.put("scriptPath", "simple_detection_windows.py");
-        info.put("analysisInterval", 30);
-        info.put("enabled", true);
+        Map<String, Object> info = aiModelService.getModelInfo();
         info.put("timestamp", System.currentTimeMillis());
         
         return ResponseEntity.ok(info);
     }
 
+    @GetMapping("/logs")
+    @Operation(summary = "AI 모델 로그 조회", description = "AI 프로세스가 출력한 최근 로그를 조회합니다. afterSeq 이후 로그만, level 이상 레벨(ERROR/WARN/INFO)만 걸러낼 수 있습니다.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "로그 조회 성공")
+    })
+    public ResponseEntity<Map<String, Object>> getLogs(
+            @RequestParam(defaultValue = "200") int limit,
+            @RequestParam(required = false) String level,
+            @RequestParam(required = false) Long afterSeq) {
+        List<AIModelLogBuffer.LogEntry> logs = logBuffer.snapshot(afterSeq, level,
+                Math.max(1, Math.min(limit, logBuffer.getCapacity())));
+        Map<String, Object> response = new HashMap<>();
+        response.put("logs", logs);
+        response.put("count", logs.size());
+        response.put("lastSeq", logBuffer.getLastSeq());
+        response.put("capacity", logBuffer.getCapacity());
+        response.put("timestamp", System.currentTimeMillis());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/logs/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "AI 모델 로그 실시간 구독", description = "AI 프로세스 로그를 Server-Sent Events(log 이벤트)로 실시간 전송합니다. 재연결 시 Last-Event-ID 이후의 로그부터 이어서 받습니다.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "구독 시작")
+    })
+    public SseEmitter streamLogs(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(required = false) Long afterSeq) {
+        // 처음 연결하면서 afterSeq를 주지 않으면 이미 쌓인 로그는 건너뛰고 새 로그만 전송
+        Long resumeFrom = lastEventId != null ? lastEventId : afterSeq != null ? afterSeq : logBuffer.getLastSeq();
+        return logBuffer.subscribe(resumeFrom);
+    }
+
     // 공통 응답 생성 메서드
     private Map<String, Object> createResponse(boolean success, String message) {
         Map<String, Object> response = new HashMap<>();
@@ -119,21 +161,16 @@ public class AIModelController {
     }
 
     @PostMapping("/restart")
-    @Operation(summary = "AI 모델 재시작", description = "AI 모델을 중지하고 다시 시작합니다.")
+    @Operation(summary = "AI 모델 재시작", description = "AI 모델을 중지하고 다시 시작합니다. 재시작은 백그라운드에서 진행되며 진행 상황은 상태 API로 확인합니다.")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "재시작 성공"),
+        @ApiResponse(responseCode = "200", description = "재시작 요청 성공"),
         @ApiResponse(responseCode = "500", description = "재시작 실패")
     })
     public ResponseEntity<Map<String, Object>> restartAIModel() {
         try {
-            if (aiModelService.isAIModelRunning()) {
-                aiModelService.stopAIModel();
-                Thread.sleep(2000);
-            }
-            
-            aiModelService.startAIModelManually();
+            aiModelService.restartAIModel();
             return ResponseEntity.ok(
-                createResponse(true, "AI 모델 재시작이 완료되었습니다.")
+                createResponse(true, "AI 모델 재시작 요청이 완료되었습니다.")
             );
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(
@@ -3,6 +3,7 @@ package com.project.jejubeach.controller;
 import com.project.jejubeach.dto.BeachRequest;
 import com.project.jejubeach.entity.Beach;
 import com.project.jejubeach.repository.BeachRepository;
+import com.project.jejubeach.service.BeachCatalogCache;
 import com.project.jejubeach.service.BeachService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -18,6 +19,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
@@ -33,6 +35,7 @@ public class BeachController {
     
     private final BeachService beachService;
     private final BeachRepository beachRepository;
+    private final BeachCatalogCache beachCatalogCache;
 
     @GetMapping("/test")
     public ResponseEntity<String> test() {
@@ -40,23 +43,31 @@ public class BeachController {
     }
 
     @GetMapping
-    @Operation(summary = "모든 해변 조회", description = "등록된 모든 해변 정보를 조회합니다.")
+    @Operation(summary = "모든 해변 조회", description = "등록된 모든 해변 정보를 조회합니다. If-None-Match가 현재 ETag와 같으면 304를 반환합니다.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "조회 성공",
-            content = @Content(schema = @Schema(implementation = Beach.class)))
+            content = @Content(schema = @Schema(implementation = Beach.class))),
+        @ApiResponse(responseCode = "304", description = "목록 변경 없음")
     })
-    public ResponseEntity<List<Beach>> getAllBeaches() {
+    public ResponseEntity<List<Beach>> getAllBeaches(WebRequest request) {
+        if (request.checkNotModified(beachService.getCatalogEtag())) {
+            return null;
+        }
         List<Beach> beaches = beachService.getAllBeaches();
         return ResponseEntity.ok(beaches);
     }
 
     @GetMapping("/active")
-    @Operation(summary = "활성 해변 조회", description = "활성 상태인 해변만 조회합니다.")
+    @Operation(summary = "활성 해변 조회", description = "활성 상태인 해변만 조회합니다. If-None-Match가 현재 ETag와 같으면 304를 반환합니다.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "조회 성공",
-            content = @Content(schema = @Schema(implementation = Beach.class)))
+            content = @Content(schema = @Schema(implementation = Beach.class))),
+        @ApiResponse(responseCode = "304", description = "목록 변경 없음")
     })
-    public ResponseEntity<List<Beach>> getActiveBeaches() {
+    public ResponseEntity<List<Beach>> getActiveBeaches(WebRequest request) {
+        if (request.checkNotModified(beachService.getCatalogEtag())) {
+            return null;
+        }
         List<Beach> beaches = beachService.getActiveBeaches();
         return ResponseEntity.ok(beaches);
     }
@@ -66,25 +77,35 @@ public class BeachController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "조회 성공",
             content = @Content(schema = @Schema(implementation = Beach.class))),
+        @ApiResponse(responseCode = "304", description = "변경 없음"),
         @ApiResponse(responseCode = "404", description = "해변을 찾을 수 없음")
     })
     public ResponseEntity<Beach> getBeachById(
             @Parameter(description = "해변 ID", required = true)
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest request) {
+        if (request.checkNotModified(beachService.getCatalogEtag())) {
+            return null;
+        }
         return beachService.getBeachById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/region/{region}")
-    @Operation(summary = "지역별 해변 조회", description = "특정 지역의 해변들을 조회합니다.")
+    @Operation(summary = "지역별 해변 조회", description = "특정 지역의 해변들을 조회합니다. If-None-Match가 현재 ETag와 같으면 304를 반환합니다.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "조회 성공",
-            content = @Content(schema = @Schema(implementation = Beach.class)))
+            content = @Content(schema = @Schema(implementation = Beach.class))),
+        @ApiResponse(responseCode = "304", description = "목록 변경 없음")
     })
     public ResponseEntity<List<Beach>> getBeachesByRegion(
             @Parameter(description = "지역명", required = true)
-            @PathVariable String region) {
+            @PathVariable String region,
+            WebRequest request) {
+        if (request.checkNotModified(beachService.getCatalogEtag())) {
+            return null;
+        }
         List<Beach> beaches = beachService.getBeachesByRegion(region);
         return ResponseEntity.ok(beaches);
     }
@@ -116,6 +137,7 @@ public class BeachController {
                 "status", beach.getStatus()
             ))
             .collect(Collectors.toList()));
+        debugInfo.put("cache", beachCatalogCache.getStats());
         return ResponseEntity.ok(debugInfo);
     }
 
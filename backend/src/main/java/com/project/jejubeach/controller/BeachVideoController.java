@@ -2,52 +2,111 @@ package com.project.jejubeach.controller;
 
 
 import com.project.jejubeach.dto.BeachVideo;
+import com.project.jejubeach.service.AnalysisScheduleService;
+import com.project.jejubeach.service.VideoCatalogService;
+import com.project.jejubeach.service.VideoPosterService;
+import com.project.jejubeach.service.VideoStorageService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
+@RequiredArgsConstructor
 @CrossOrigin(origins = "http://localhost:5173")  // Vue.js 개발 서버 주소 맞춰주세요
 @Tag(name = "해변 동영상", description = "해변 CCTV 동영상 정보 제공 API")
 public class BeachVideoController {
 
+  private final VideoCatalogService videoCatalogService;
+  private final VideoPosterService videoPosterService;
+  private final VideoStorageService videoStorageService;
+  private final AnalysisScheduleService analysisScheduleService;
+
   @GetMapping("/api/videos")
-  @Operation(summary = "동영상 목록 조회", description = "등록된 모든 해변 동영상 정보를 조회합니다.")
+  @Operation(summary = "동영상 목록 조회", description = "활성 해변에 등록된 동영상 정보(크기, 재생 시간, 내용 해시 포함)를 조회합니다. If-None-Match가 현재 ETag와 같으면 304를 반환합니다.")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "조회 성공",
-          content = @Content(schema = @Schema(implementation = BeachVideo.class)))
+          content = @Content(schema = @Schema(implementation = BeachVideo.class))),
+      @ApiResponse(responseCode = "304", description = "목록 변경 없음")
+  })
+  public ResponseEntity<List<BeachVideo>> getVideos(WebRequest request) {
+    VideoCatalogService.Catalog catalog = videoCatalogService.getCatalog();
+    // 목록이 그대로면 본문 없이 304 (ETag 헤더는 checkNotModified가 설정)
+    if (request.checkNotModified(catalog.etag())) {
+      return null;
+    }
+    return ResponseEntity.ok()
+        .cacheControl(CacheControl.noCache())
+        .body(catalog.videos());
+  }
+
+  @GetMapping("/api/videos/{id}/poster")
+  @Operation(summary = "동영상 포스터 조회", description = "동영상의 키프레임을 지정한 폭(w)으로 줄인 JPEG 미리보기를 반환합니다. live=true이면 가장 최근 분석 프레임으로 만든 이미지를 반환하며, 분석된 프레임이 없으면 키프레임 포스터를 반환합니다.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "조회 성공"),
+      @ApiResponse(responseCode = "304", description = "변경 없음"),
+      @ApiResponse(responseCode = "404", description = "동영상 없음")
   })
-  public List<BeachVideo> getVideos() {
-    return List.of(
-            new BeachVideo(
-                    "hamduck",
-                    "hamduck_beach.mp4",
-                    "함덕 해수욕장",
-                    "제주도 대표적인 해변 중 하나인 함덕 해수욕장입니다.",
-                    "/videos/hamduck_beach.mp4"
-            ),
-            new BeachVideo(
-                    "iho",
-                    "iho_beach.mp4",
-                    "이호 해수욕장",
-                    "이호 해수욕장은 공항 근처에 위치해 있어 접근성이 좋습니다.",
-                    "/videos/iho_beach.mp4"
-            ),
-            new BeachVideo(
-                    "walljeonglee",
-                    "walljeonglee_beach.mp4",
-                    "월정리 해수욕장",
-                    "월정리 해수욕장은 맑은 바다와 카페 거리로 유명합니다.",
-                    "/videos/walljeonglee_beach.mp4"
-            )
-    );
+  public ResponseEntity<byte[]> getPoster(@PathVariable String id,
+                                          @RequestParam(required = false) Integer w,
+                                          @RequestParam(required = false) String v,
+                                          @RequestParam(defaultValue = "false") boolean live,
+                                          WebRequest request) throws IOException {
+    Optional<BeachVideo> video = videoCatalogService.findVideo(id);
+    if (video.isEmpty()) {
+      return ResponseEntity.notFound().build();
+    }
+    int width = VideoPosterService.normalizeWidth(w);
+
+    if (live) {
+      Optional<VideoPosterService.Poster> poster = videoPosterService.livePoster(video.get().getFilename(), width);
+      if (poster.isPresent()) {
+        // 다음 분석 전까지는 같은 이미지이므로 분석 간격만큼 캐시
+        long maxAge = Math.max(1, analysisScheduleService.getShortestIntervalMs() / 1000);
+        return posterResponse(poster.get(), CacheControl.maxAge(Duration.ofSeconds(maxAge)).cachePublic(), request);
+      }
+    }
+
+    Optional<VideoStorageService.VideoFile> file = videoStorageService.find(video.get().getFilename());
+    if (file.isEmpty()) {
+      return ResponseEntity.notFound().build();
+    }
+    String contentHash = video.get().getContentHash();
+    Optional<VideoPosterService.Poster> poster = videoPosterService.poster(file.get(), contentHash, width);
+    if (poster.isEmpty()) {
+      return ResponseEntity.notFound().build();
+    }
+    // 주소에 현재 내용 해시(v)가 있으면 절대 바뀌지 않으므로 영구 캐시, 아니면 ETag로 재검증
+    CacheControl cacheControl = !live && v != null && contentHash.startsWith(v) && v.length() >= 16
+        ? CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable()
+        : CacheControl.noCache().cachePublic();
+    return posterResponse(poster.get(), cacheControl, request);
+  }
+
+  private ResponseEntity<byte[]> posterResponse(VideoPosterService.Poster poster, CacheControl cacheControl, WebRequest request) {
+    if (request.checkNotModified(poster.etag())) {
+      return null;
+    }
+    return ResponseEntity.ok()
+        .contentType(MediaType.IMAGE_JPEG)
+        .cacheControl(cacheControl)
+        .body(poster.jpeg());
   }
 }
@@ -1,34 +1,126 @@
 package com.project.jejubeach.controller;
 
+import com.project.jejubeach.dto.DetectionCreateReq;
+import com.project.jejubeach.dto.DetectionHistoryBucket;
+import com.project.jejubeach.dto.DetectionSnapshot;
 import com.project.jejubeach.entity.Detection;
+import com.project.jejubeach.service.DetectionChangeFilter;
+import com.project.jejubeach.service.DetectionExportService;
+import com.project.jejubeach.service.DetectionIngestQueue;
+import com.project.jejubeach.service.DetectionIngestService;
+import com.project.jejubeach.service.DetectionSpool;
 import com.project.jejubeach.service.DetectionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/detections")
 @RequiredArgsConstructor
 @CrossOrigin(origins = "*")
+@Validated
 @Tag(name = "탐지 데이터", description = "인원 수 및 쓰러진 사람 수 탐지 데이터 API")
 public class DetectionController {
     
     private final DetectionService service;
+    private final DetectionExportService exportService;
+    private final DetectionIngestService ingestService;
+    private final DetectionIngestQueue ingestQueue;
+    private final DetectionSpool spool;
+    private final DetectionChangeFilter changeFilter;
     
     @PostMapping
-    @Operation(summary = "탐지 데이터 저장", description = "새로운 탐지 데이터를 저장하고 최신 10개만 유지합니다.")
+    @Operation(summary = "탐지 데이터 저장", description = "새로운 탐지 데이터를 저장합니다. 비동기 모드이거나 DB 장애 중이면 큐/로컬 spool에 넣고 202를 반환합니다. 오래된 데이터는 보관 정책에 따라 주기적으로 정리됩니다.")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "저장 성공"),
-        @ApiResponse(responseCode = "400", description = "잘못된 요청 데이터")
+        @ApiResponse(responseCode = "200", description = "저장 성공 (직전 값과 같아 저장하지 않은 경우 status=SUPPRESSED)"),
+        @ApiResponse(responseCode = "202", description = "저장 대기열 또는 spool 등록"),
+        @ApiResponse(responseCode = "400", description = "잘못된 요청 데이터"),
+        @ApiResponse(responseCode = "409", description = "이미 받은 순번(sequence)의 재전송"),
+        @ApiResponse(responseCode = "503", description = "저장 대기열 포화")
     })
-    public ResponseEntity<Detection> create(@RequestBody DetectionCreateReq req) {
-        Detection saved = service.saveAndTrim(req.personCount(), req.fallenCount(), req.source());
-        return ResponseEntity.ok(saved);
+    public ResponseEntity<?> create(@Valid @RequestBody DetectionCreateReq req) {
+        DetectionIngestService.IngestResult result = ingestService.ingest(req);
+        if (result.status() == DetectionIngestService.Status.SAVED) {
+            return ResponseEntity.ok(result.saved().get(0));
+        }
+        return toResponse(result);
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "탐지 데이터 일괄 저장", description = "여러 해변의 탐지 데이터를 한 번의 배치 insert로 저장합니다. 이미 받은 순번의 항목은 건너뜁니다. 비동기 모드이거나 DB 장애 중이면 큐/로컬 spool에 넣고 202를 반환합니다.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "저장 성공 (모든 항목이 직전 값과 같아 저장하지 않은 경우 status=SUPPRESSED)"),
+        @ApiResponse(responseCode = "202", description = "저장 대기열 또는 spool 등록"),
+        @ApiResponse(responseCode = "400", description = "잘못된 요청 데이터"),
+        @ApiResponse(responseCode = "409", description = "모든 항목이 이미 받은 순번의 재전송"),
+        @ApiResponse(responseCode = "503", description = "저장 대기열 포화")
+    })
+    public ResponseEntity<?> createBatch(@RequestBody List<@Valid DetectionCreateReq> reqs) {
+        if (reqs == null || reqs.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        DetectionIngestService.IngestResult result = ingestService.ingestAll(reqs);
+        if (result.status() == DetectionIngestService.Status.SAVED) {
+            return ResponseEntity.ok(result.saved());
+        }
+        return toResponse(result);
+    }
+
+    @GetMapping("/ingest/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "탐지 데이터 저장 큐 상태", description = "비동기 저장 큐의 대기 건수, 저장 지연 시간, 거절/폐기 건수와 spool 상태, 변화 감지로 저장하지 않은 건수를 조회합니다. (최고관리자만)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "조회 성공"),
+        @ApiResponse(responseCode = "403", description = "권한 부족")
+    })
+    public ResponseEntity<Map<String, Object>> ingestStats() {
+        Map<String, Object> stats = new HashMap<>(ingestQueue.getStats());
+        stats.put("spool", spool.getStats());
+        stats.put("changeFilter", changeFilter.getStats());
+        return ResponseEntity.ok(stats);
+    }
+
+    // 저장된 행이 없는 결과 응답 (200, 202, 409 또는 503)
+    private ResponseEntity<Map<String, Object>> toResponse(DetectionIngestService.IngestResult result) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", result.status().name());
+        body.put("accepted", result.count());
+        body.put("duplicates", result.duplicates());
+        body.put("timestamp", System.currentTimeMillis());
+        if (result.status() == DetectionIngestService.Status.SUPPRESSED) {
+            body.put("message", "직전 값과 같아 저장하지 않았습니다.");
+            return ResponseEntity.ok(body);
+        }
+        if (result.status() == DetectionIngestService.Status.DUPLICATE) {
+            body.put("message", "이미 받은 탐지 데이터입니다.");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+        }
+        if (result.status() == DetectionIngestService.Status.REJECTED) {
+            body.put("message", "탐지 데이터를 받을 수 없습니다. 잠시 후 다시 시도해주세요.");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(body);
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(body);
     }
     
     @GetMapping("/latest")
@@ -37,8 +129,8 @@ public class DetectionController {
         @ApiResponse(responseCode = "200", description = "조회 성공"),
         @ApiResponse(responseCode = "204", description = "데이터 없음")
     })
-    public ResponseEntity<Detection> latest() {
-        Detection d = service.getLatest();
+    public ResponseEntity<DetectionSnapshot> latest() {
+        DetectionSnapshot d = service.getLatest();
         return d == null ? ResponseEntity.noContent().build() : ResponseEntity.ok(d);
     }
     
@@ -47,7 +139,7 @@ public class DetectionController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "조회 성공")
     })
-    public List<Detection> latest10() {
+    public List<DetectionSnapshot> latest10() {
         return service.getLatest10();
     }
 
@@ -57,10 +149,66 @@ public class DetectionController {
         @ApiResponse(responseCode = "200", description = "조회 성공"),
         @ApiResponse(responseCode = "204", description = "데이터 없음")
     })
-    public ResponseEntity<Detection> getLatestByBeach(@PathVariable String beachName) {
-        Detection d = service.getLatestByBeach(beachName);
+    public ResponseEntity<DetectionSnapshot> getLatestByBeach(@PathVariable String beachName) {
+        DetectionSnapshot d = service.getLatestByBeach(beachName);
         return d == null ? ResponseEntity.noContent().build() : ResponseEntity.ok(d);
     }
-    
-    public record DetectionCreateReq(int personCount, int fallenCount, String source) {}
+
+    @GetMapping("/beach/{beachName}/history")
+    @Operation(summary = "특정 해변의 탐지 이력 집계", description = "기간(from~to)을 step 단위로 나누어 구간별 인원 수 최소/평균/최대와 쓰러진 사람 수 합계를 조회합니다. step 예: 5m, 1h, 1d")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "조회 성공"),
+        @ApiResponse(responseCode = "400", description = "잘못된 기간 또는 step")
+    })
+    public ResponseEntity<List<DetectionHistoryBucket>> getHistory(
+            @PathVariable String beachName,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "5m") String step) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(1);
+        try {
+            return ResponseEntity.ok(service.getHistory(beachName, start, end, DurationStyle.detectAndParse(step)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "탐지 데이터 내보내기", description = "탐지 데이터를 NDJSON 또는 CSV로 스트리밍합니다. source(접두어)/from/to로 필터링하고 gzip 압축을 선택할 수 있습니다. (최고관리자만)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "내보내기 시작"),
+        @ApiResponse(responseCode = "403", description = "권한 부족")
+    })
+    public WebAsyncTask<Void> export(
+            @RequestParam(required = false) String source,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) {
+        DetectionExportService.Format exportFormat = "csv".equalsIgnoreCase(format)
+                ? DetectionExportService.Format.CSV
+                : DetectionExportService.Format.NDJSON;
+        String filename = "detections." + (exportFormat == DetectionExportService.Format.CSV ? "csv" : "ndjson")
+                + (gzip ? ".gz" : "");
+
+        // gzip은 압축 파일 자체를 내려받도록 Content-Encoding 없이 application/gzip으로 전송
+        // (Content-Encoding을 붙이면 클라이언트가 자동으로 풀어서 .gz 이름에 평문이 저장됨)
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+        if (gzip) {
+            response.setContentType("application/gzip");
+        } else if (exportFormat == DetectionExportService.Format.CSV) {
+            response.setContentType(new MediaType("text", "csv", StandardCharsets.UTF_8).toString());
+        } else {
+            response.setContentType("application/x-ndjson");
+        }
+
+        // 본문은 요청 스레드가 아닌 내보내기 전용 실행기에서 작성됨
+        return new WebAsyncTask<>(exportService.getTimeoutMs(), exportService.getExecutor(), () -> {
+            exportService.export(response.getOutputStream(), exportFormat, gzip, source, from, to);
+            return null;
+        });
+    }
 }
@@ -0,0 +1,205 @@
+package com.project.jejubeach.controller;
+
+import com.project.jejubeach.service.HlsPackagingService;
+import com.project.jejubeach.service.HlsSegmentCache;
+import com.project.jejubeach.service.VideoStorageService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 해변 동영상 스트리밍 (video.storage-dir의 파일을 그대로 전송).
+ * Range/If-Range 요청은 206 Partial Content로 필요한 구간만 보내고, ETag/Last-Modified로 304 재검증을 지원합니다.
+ * 본문은 Tomcat sendfile이 가능하면 커널에서 직접 보내고, 아니면 FileChannel.transferTo로 전송합니다.
+ * HLS 패키지가 준비된 동영상은 /videos/{파일}/master.m3u8에서 내용 해시 기반의 변하지 않는 패키지 경로로 연결합니다.
+ */
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+@Tag(name = "해변 동영상", description = "해변 CCTV 동영상 정보 제공 API")
+public class VideoStreamController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final MediaType HLS_PLAYLIST = MediaType.parseMediaType("application/vnd.apple.mpegurl");
+    private static final MediaType HLS_SEGMENT = MediaType.parseMediaType("video/mp2t");
+
+    private final VideoStorageService videoStorageService;
+    private final HlsPackagingService hlsPackagingService;
+    private final HlsSegmentCache hlsSegmentCache;
+
+    @Value("${video.cache-max-age-seconds:3600}")
+    private long cacheMaxAgeSeconds;
+
+    @RequestMapping(value = "/videos/{filename:.+}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    @Operation(summary = "동영상 스트리밍", description = "해변 동영상을 전송합니다. Range 요청 시 해당 구간만 206 Partial Content로 응답합니다.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "전체 전송"),
+        @ApiResponse(responseCode = "206", description = "요청한 구간 전송"),
+        @ApiResponse(responseCode = "304", description = "변경 없음"),
+        @ApiResponse(responseCode = "404", description = "동영상 없음"),
+        @ApiResponse(responseCode = "416", description = "요청한 구간이 파일 범위를 벗어남")
+    })
+    public void stream(@PathVariable String filename,
+                       HttpServletRequest request,
+                       HttpServletResponse response) throws IOException {
+        Optional<VideoStorageService.VideoFile> found = videoStorageService.find(filename);
+        if (found.isEmpty()) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        VideoStorageService.VideoFile video = found.get();
+        String etag = video.etag();
+
+        // If-None-Match / If-Modified-Since 처리 (변경이 없으면 304, ETag/Last-Modified 헤더도 여기서 설정)
+        if (new ServletWebRequest(request, response).checkNotModified(etag, video.lastModified())) {
+            return;
+        }
+
+        response.setContentType("video/mp4");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=" + cacheMaxAgeSeconds);
+
+        long length = video.size();
+        long start = 0;
+        long end = length - 1;
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (StringUtils.hasText(rangeHeader) && isRangeApplicable(request, etag, video.lastModified())) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            // 여러 구간(multipart/byteranges)은 지원하지 않고 전체 전송
+            if (ranges.size() == 1) {
+                // getRangeStart는 파일 길이를 검사하지 않으므로 시작 위치가 파일 끝을 넘는지 직접 확인
+                start = ranges.get(0).getRangeStart(length);
+                end = ranges.get(0).getRangeEnd(length);
+                if (start >= length || start > end) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if (RequestMethod.HEAD.name().equals(request.getMethod()) || count <= 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 응답 커밋 후 Tomcat이 sendfile로 파일 구간을 직접 전송
+            request.setAttribute(SENDFILE_FILENAME, video.path().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel file = FileChannel.open(video.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = file.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        } catch (IOException e) {
+            // 재생 위치 이동 등으로 브라우저가 연결을 끊는 것은 정상 동작
+            log.debug("동영상 전송 중단 ({}): {}", filename, e.getMessage());
+        }
+    }
+
+    @GetMapping("/videos/{filename}/master.m3u8")
+    @Operation(summary = "HLS 재생 목록", description = "동영상의 HLS 패키지가 준비되어 있으면 패키지의 master 플레이리스트로 이동합니다. 준비 전이면 404이며 이때는 MP4로 재생합니다.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "302", description = "HLS 패키지로 이동"),
+        @ApiResponse(responseCode = "404", description = "HLS 패키지 없음 (패키징 예약)")
+    })
+    public ResponseEntity<Void> hlsEntry(@PathVariable String filename) {
+        return hlsPackagingService.readyPackageId(filename)
+                .map(id -> ResponseEntity.status(HttpStatus.FOUND)
+                        .header(HttpHeaders.LOCATION, "/videos/hls/" + id + "/master.m3u8")
+                        .cacheControl(CacheControl.noCache())
+                        .<Void>build())
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping({"/videos/hls/{id}/{file}", "/videos/hls/{id}/{variant}/{file}"})
+    @Operation(summary = "HLS 플레이리스트/세그먼트", description = "HLS 패키지 파일을 전송합니다. 경로에 내용 해시가 포함되어 있어 영구 캐시(immutable)로 응답합니다.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "전송 성공"),
+        @ApiResponse(responseCode = "404", description = "파일 없음")
+    })
+    public ResponseEntity<byte[]> hlsFile(@PathVariable String id,
+                                          @PathVariable(required = false) String variant,
+                                          @PathVariable String file) throws IOException {
+        Optional<Path> path = hlsPackagingService.resolve(id, variant, file);
+        if (path.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(file.endsWith(".m3u8") ? HLS_PLAYLIST : HLS_SEGMENT)
+                .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                .body(hlsSegmentCache.get(path.get()));
+    }
+
+    // If-Range 값이 현재 ETag 또는 Last-Modified와 같을 때만 Range 적용 (다르면 전체 전송)
+    private boolean isRangeApplicable(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (!StringUtils.hasText(ifRange)) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -11,6 +11,12 @@ public class BeachVideo {
   private String title;
   private String description;
   private String videoUrl;
+  // 동영상 카탈로그용 파일 정보 (해변 ID, 크기, 재생 시간, 내용 해시)
+  private Long beachId;
+  private long size;
+  private Double durationSeconds;
+  private String contentHash;
+  private String posterUrl;
 
   public BeachVideo(String id, String filename, String title, String description, String videoUrl) {
     this.id = id;
@@ -0,0 +1,30 @@
+package com.project.jejubeach.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "탐지 데이터 저장 요청")
+public record DetectionCreateReq(
+        @Schema(description = "탐지된 사람 수", example = "12")
+        @Min(value = 0, message = "사람 수는 0 이상이어야 합니다")
+        int personCount,
+
+        @Schema(description = "쓰러진 사람 수", example = "0")
+        @Min(value = 0, message = "쓰러진 사람 수는 0 이상이어야 합니다")
+        int fallenCount,
+
+        @Schema(description = "탐지 소스 (카메라 식별자)", example = "hamduck_camera_01")
+        @NotBlank(message = "source는 필수입니다")
+        @Size(max = 64, message = "source는 64자 이하여야 합니다")
+        String source,
+
+        @Schema(description = "source별 단조 증가 순번 (선택). 같은 source에서 이미 받은 순번 이하이면 중복으로 거절됩니다.", example = "1718000000000")
+        Long sequence
+) {
+
+    public DetectionCreateReq(int personCount, int fallenCount, String source) {
+        this(personCount, fallenCount, source, null);
+    }
+}
@@ -0,0 +1,26 @@
+package com.project.jejubeach.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "탐지 이력 시간 구간 집계")
+public record DetectionHistoryBucket(
+        @Schema(description = "구간 시작 시각")
+        LocalDateTime bucketStart,
+
+        @Schema(description = "구간 내 탐지 건수")
+        long samples,
+
+        @Schema(description = "최소 인원 수")
+        int minPersonCount,
+
+        @Schema(description = "평균 인원 수")
+        double avgPersonCount,
+
+        @Schema(description = "최대 인원 수")
+        int maxPersonCount,
+
+        @Schema(description = "쓰러진 사람 수 합계")
+        long fallenCountSum
+) {}
@@ -0,0 +1,34 @@
+package com.project.jejubeach.dto;
+
+import com.project.jejubeach.entity.Detection;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "탐지 데이터 스냅샷 (불변)")
+public record DetectionSnapshot(
+        Long id,
+        int personCount,
+        int fallenCount,
+        String source,
+        Long beachId,
+        LocalDateTime createdAt
+) {
+
+    public static DetectionSnapshot from(Detection d) {
+        return new DetectionSnapshot(d.getId(), d.getPersonCount(), d.getFallenCount(), d.getSource(),
+                d.getBeachId(), d.getCreatedAt());
+    }
+
+    // 같은 source에 대해 이 스냅샷이 other보다 최신인지 여부
+    public boolean isNewerThan(DetectionSnapshot other) {
+        if (other == null) {
+            return true;
+        }
+        int cmp = createdAt.compareTo(other.createdAt);
+        if (cmp != 0) {
+            return cmp > 0;
+        }
+        return id != null && other.id != null && id > other.id;
+    }
+}
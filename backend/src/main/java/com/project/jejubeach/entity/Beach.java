@@ -5,7 +5,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -45,9 +47,12 @@ public class Beach {
     @Builder.Default
     private BeachStatus status = BeachStatus.ACTIVE;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    // 응답에 포함되지 않으므로 조회 시 users 조인 없이 필요할 때만 로딩
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by")
     @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User createdBy;
     
     @Column(name = "created_at", nullable = false)
@@ -0,0 +1,37 @@
+package com.project.jejubeach.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 탐지 source 문자열(카메라 식별자, 해변 별칭)과 해변의 매핑.
+ * canonical 별칭은 해당 해변의 대표 키(WebSocket 토픽, 캐시 키)로 사용됩니다.
+ */
+@Entity
+@Table(name = "beach_source_alias", indexes = {
+    @Index(name = "uk_beach_source_alias_alias", columnList = "alias", unique = true)
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeachSourceAlias {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String alias;
+
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "beach_id", nullable = false)
+    private Beach beach;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private boolean canonical = false;
+}
@@ -1,11 +1,19 @@
 package com.project.jejubeach.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "detection")
+@Table(name = "detection", indexes = {
+    @Index(name = "idx_detection_source_created_at", columnList = "source, created_at"),
+    @Index(name = "idx_detection_beach_created_at", columnList = "beach_id, created_at")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_detection_source_seq", columnNames = {"source", "seq"})
+})
 @Getter @Setter @Builder
 @NoArgsConstructor @AllArgsConstructor
 public class Detection {
@@ -22,6 +30,22 @@ public class Detection {
     @Column(length = 64)
     private String source;
     
+    // source별 순번 (재전송 중복 방지용, 선택)
+    @Column(name = "seq")
+    private Long sequence;
+    
+    // ingest 시점에 source를 해석한 해변 ID (해석 불가 시 null)
+    @Column(name = "beach_id")
+    private Long beachId;
+    
+    // FK 제약 생성용 읽기 전용 연관관계
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "beach_id", insertable = false, updatable = false,
+                foreignKey = @ForeignKey(name = "fk_detection_beach"))
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    @JsonIgnore
+    private Beach beach;
+    
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
@@ -0,0 +1,19 @@
+package com.project.jejubeach.repository;
+
+import com.project.jejubeach.entity.BeachSourceAlias;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BeachSourceAliasRepository extends JpaRepository<BeachSourceAlias, Long> {
+
+    // 특정 해변의 별칭 목록 조회
+    List<BeachSourceAlias> findByBeachId(Long beachId);
+
+    boolean existsByAlias(String alias);
+
+    Optional<BeachSourceAlias> findByAlias(String alias);
+}
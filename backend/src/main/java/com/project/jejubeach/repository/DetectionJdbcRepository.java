@@ -0,0 +1,203 @@
+package com.project.jejubeach.repository;
+
+import com.project.jejubeach.dto.DetectionHistoryBucket;
+import com.project.jejubeach.entity.Detection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JPA로 처리하기 어려운 탐지 데이터 대량 작업용 JDBC 저장소.
+ * IDENTITY 전략에서는 Hibernate 배치 insert가 비활성화되므로 직접 JDBC 배치로 저장합니다.
+ */
+@Repository
+@Slf4j
+@RequiredArgsConstructor
+public class DetectionJdbcRepository {
+
+    // (source, seq) 유니크 인덱스에 걸리는 재전송은 DuplicateKeyException으로 구분 (문장 단위로 롤백됨)
+    private static final String INSERT_SQL =
+            "INSERT INTO detection (person_count, fallen_count, source, beach_id, seq, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    // 구간 시작 시각은 기준 시각(anchor)에서 step 단위로 센 값입니다. created_at과 같은 방식으로 전달된 기준 시각과의
+    // 차이만 계산하므로 세션 타임존에 영향을 받지 않고, 구간 경계는 기준 시각의 시/분에 맞춰집니다.
+    private static final String HISTORY_SQL = """
+            SELECT DATE_ADD(?, INTERVAL FLOOR(TIMESTAMPDIFF(SECOND, ?, created_at) / ?) * ? SECOND) AS bucket_start,
+                   COUNT(*) AS samples,
+                   MIN(person_count) AS min_person,
+                   AVG(person_count) AS avg_person,
+                   MAX(person_count) AS max_person,
+                   SUM(fallen_count) AS fallen_sum
+            FROM detection
+            WHERE beach_id = ? AND created_at >= ? AND created_at < ?
+            GROUP BY bucket_start
+            ORDER BY bucket_start
+            """;
+
+    private static final String EXPORT_SQL =
+            "SELECT id, person_count, fallen_count, source, beach_id, created_at FROM detection";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 한 번의 JDBC 배치로 저장하고, 실제로 새로 저장된 행만 생성된 ID를 채워서 반환합니다.
+     * 재전송은 메모리의 순번 기록(DetectionDeduplicator)에서 걸러지므로 보통은 insert 한 번으로 끝납니다.
+     * 다른 인스턴스 등에서 같은 (source, seq)가 먼저 저장되어 유니크 인덱스에 걸린 경우에만
+     * 이미 있는 순번을 조회해서 제외하고 나머지를 다시 저장합니다.
+     */
+    public List<Detection> batchInsert(List<Detection> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return insert(rows);
+        } catch (DuplicateKeyException e) {
+            List<Detection> fresh = excludeExisting(rows);
+            if (fresh.size() == rows.size()) {
+                throw e;
+            }
+            log.debug("이미 저장된 순번 {}건 제외 후 다시 저장", rows.size() - fresh.size());
+            return batchInsert(fresh);
+        }
+    }
+
+    private List<Detection> insert(List<Detection> rows) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Detection d = rows.get(i);
+                        ps.setInt(1, d.getPersonCount());
+                        ps.setInt(2, d.getFallenCount());
+                        ps.setString(3, d.getSource());
+                        ps.setObject(4, d.getBeachId(), Types.BIGINT);
+                        ps.setObject(5, d.getSequence(), Types.BIGINT);
+                        ps.setTimestamp(6, Timestamp.valueOf(d.getCreatedAt()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                },
+                keyHolder);
+
+        // 중복이 있으면 insert 자체가 실패하므로 여기까지 왔으면 모든 행이 새로 저장된 것
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != rows.size()) {
+            log.warn("⚠️ 생성된 ID 수({})가 저장한 행 수({})와 달라 이번 배치는 전송하지 않습니다.", keys.size(), rows.size());
+            return List.of();
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            Object key = keys.get(i).values().stream().findFirst().orElse(null);
+            if (key instanceof Number n) {
+                rows.get(i).setId(n.longValue());
+            }
+        }
+        return rows;
+    }
+
+    // (source, seq)가 이미 저장된 행 제외 (순번 없는 행은 항상 새 행)
+    private List<Detection> excludeExisting(List<Detection> rows) {
+        List<Detection> sequenced = rows.stream().filter(d -> d.getSequence() != null).toList();
+        if (sequenced.isEmpty()) {
+            return rows;
+        }
+        StringBuilder sql = new StringBuilder("SELECT source, seq FROM detection WHERE (source, seq) IN (");
+        List<Object> args = new ArrayList<>(sequenced.size() * 2);
+        for (int i = 0; i < sequenced.size(); i++) {
+            sql.append(i == 0 ? "(?, ?)" : ", (?, ?)");
+            args.add(sequenced.get(i).getSource());
+            args.add(sequenced.get(i).getSequence());
+        }
+        sql.append(')');
+        Set<String> existing = new HashSet<>();
+        jdbcTemplate.query(sql.toString(),
+                (RowCallbackHandler) rs -> existing.add(rs.getString("source") + "#" + rs.getLong("seq")),
+                args.toArray());
+        if (existing.isEmpty()) {
+            return rows;
+        }
+        return rows.stream()
+                .filter(d -> d.getSequence() == null || !existing.contains(d.getSource() + "#" + d.getSequence()))
+                .toList();
+    }
+
+    // source별 최대 순번 (중복 방지 high-water mark 초기화용)
+    public Map<String, Long> findMaxSequencePerSource() {
+        Map<String, Long> result = new HashMap<>();
+        jdbcTemplate.query("SELECT source, MAX(seq) AS max_seq FROM detection WHERE seq IS NOT NULL GROUP BY source",
+                (RowCallbackHandler) rs -> result.put(rs.getString("source"), rs.getLong("max_seq")));
+        return result;
+    }
+
+    // 해변별 시간 구간 집계 (beach_id, created_at 인덱스 범위 조회 + 단일 GROUP BY)
+    public List<DetectionHistoryBucket> findHistoryBuckets(Long beachId, LocalDateTime from, LocalDateTime to,
+                                                           long stepSeconds, LocalDateTime anchor) {
+        return jdbcTemplate.query(HISTORY_SQL,
+                (rs, rowNum) -> new DetectionHistoryBucket(
+                        rs.getTimestamp("bucket_start").toLocalDateTime(),
+                        rs.getLong("samples"),
+                        rs.getInt("min_person"),
+                        rs.getDouble("avg_person"),
+                        rs.getInt("max_person"),
+                        rs.getLong("fallen_sum")),
+                Timestamp.valueOf(anchor), Timestamp.valueOf(anchor), stepSeconds, stepSeconds,
+                beachId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    /**
+     * 조건에 맞는 탐지 데이터를 전진 전용 커서로 한 행씩 전달합니다.
+     * MySQL 드라이버는 fetchSize가 Integer.MIN_VALUE일 때 결과를 메모리에 모으지 않고 스트리밍합니다.
+     */
+    public void streamForExport(String source, LocalDateTime from, LocalDateTime to, RowCallbackHandler handler) {
+        StringBuilder sql = new StringBuilder(EXPORT_SQL).append(" WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (source != null && !source.isBlank()) {
+            sql.append(" AND (source = ? OR source LIKE CONCAT(?, '\\_%'))");
+            args.add(source);
+            args.add(source);
+        }
+        if (from != null) {
+            sql.append(" AND created_at >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND created_at < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        sql.append(" ORDER BY created_at, id");
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            return ps;
+        }, handler);
+    }
+}
@@ -6,6 +6,8 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -17,19 +19,47 @@ public interface DetectionRepository extends JpaRepository<Detection, Long> {
     // 최신 10건
     List<Detection> findTop10ByOrderByCreatedAtDesc();
     
-    // 특정 source 패턴을 포함하는 최신 1건
-    Detection findTopBySourceContainingOrderByCreatedAtDesc(String sourcePattern);
+    // 특정 해변의 최신 1건 (beach_id, created_at 인덱스 사용)
+    Detection findTopByBeachIdOrderByCreatedAtDesc(Long beachId);
     
-    // 최신 10건만 남기고 나머지 삭제 (MySQL 8+ 윈도우 함수)
+    // 특정 source 접두어로 시작하는 최신 1건 (해변을 알 수 없는 source용)
+    Detection findTopBySourceStartingWithOrderByCreatedAtDesc(String sourcePrefix);
+    
+    // source별 최신 1건 (엔티티로 매핑되므로 Detection의 모든 컬럼을 선택)
+    @Query(value = """
+        SELECT id, person_count, fallen_count, source, beach_id, seq, created_at FROM (
+          SELECT d.*, ROW_NUMBER() OVER (PARTITION BY source ORDER BY created_at DESC, id DESC) AS rn
+          FROM detection d
+        ) t WHERE t.rn = 1
+        """, nativeQuery = true)
+    List<Detection> findLatestPerSource();
+    
+    // source별로 최신 :keep건만 남기고 나머지 삭제 (MySQL 8+ 윈도우 함수)
+    @Transactional
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query(value = """
         DELETE FROM detection
         WHERE id IN (
           SELECT id FROM (
-            SELECT id, ROW_NUMBER() OVER (ORDER BY created_at DESC) AS rn
+            SELECT id, ROW_NUMBER() OVER (PARTITION BY source ORDER BY created_at DESC, id DESC) AS rn
             FROM detection
           ) t WHERE t.rn > :keep
         )
         """, nativeQuery = true)
-    int trimToKeep(@Param("keep") int keep);
+    int trimPerSource(@Param("keep") int keep);
+    
+    // 별칭에 해당하는 source의 기존 데이터에 해변 연결
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = """
+        UPDATE detection SET beach_id = :beachId
+        WHERE beach_id IS NULL AND (source = :alias OR source LIKE CONCAT(:alias, '\\_%'))
+        """, nativeQuery = true)
+    int assignBeachBySource(@Param("alias") String alias, @Param("beachId") Long beachId);
+    
+    // 기준 시각보다 오래된 데이터를 최대 :limit건 삭제 (긴 잠금을 피하기 위해 나눠서 실행)
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = "DELETE FROM detection WHERE created_at < :cutoff LIMIT :limit", nativeQuery = true)
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
 }
@@ -0,0 +1,232 @@
+package com.project.jejubeach.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * AI 프로세스(stdout/stderr) 로그를 담아두는 고정 크기 링 버퍼.
+ * Python 스크립트의 [INFO]/[ERROR]/[SUCCESS] 형식 태그를 로그 레벨로 변환하고,
+ * 새 로그는 SSE 구독자에게 바로 전송합니다.
+ */
+@Component
+@Slf4j
+public class AIModelLogBuffer {
+
+    public record LogEntry(long seq, long timestamp, String level, String tag, String worker, String message) {}
+
+    private static final Pattern TAGGED_LINE = Pattern.compile("^\\[(\\w+)\\]\\s*(.*)$");
+
+    // 구독자별로 마지막으로 보낸 로그 순번을 기억하고, 전송 스레드가 그 이후 로그를 버퍼에서 꺼내 보냄
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private long cursor;
+
+        private Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+    }
+
+    private final int capacity;
+    private final long streamTimeoutMs;
+    private final Deque<LogEntry> entries = new ArrayDeque<>();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ThreadPoolExecutor fanOut;
+    private long nextSeq;
+
+    public AIModelLogBuffer(@Value("${ai.model.log.capacity:1000}") int capacity,
+                            @Value("${ai.model.log.stream-timeout-minutes:30}") long streamTimeoutMinutes) {
+        this.capacity = Math.max(1, capacity);
+        this.streamTimeoutMs = TimeUnit.MINUTES.toMillis(streamTimeoutMinutes);
+        // 전송 요청은 최대 한 건만 대기 (대기 중인 전송이 모든 구독자의 밀린 로그를 보내므로 추가 요청은 버려도 됨)
+        // 로그 수집 스레드는 느린 구독자 때문에 막히지 않고, 구독자가 버퍼 크기보다 뒤처지면 지난 로그는 건너뜀
+        this.fanOut = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1), r -> {
+                    Thread t = new Thread(r, "ai-log-stream");
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * 프로세스 출력 스트림을 별도 스레드에서 한 줄씩 읽어 버퍼에 담습니다.
+     * 스트림은 프로세스가 종료되면 닫히므로 스레드도 함께 끝납니다.
+     */
+    public void capture(InputStream stream, String worker) {
+        Thread pump = new Thread(() -> {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        append(worker, line);
+                    }
+                }
+            } catch (IOException e) {
+                log.debug("{} 로그 스트림 종료: {}", worker, e.getMessage());
+            }
+        }, worker + "-log");
+        pump.setDaemon(true);
+        pump.start();
+    }
+
+    public LogEntry append(String worker, String line) {
+        String tag = null;
+        String message = line;
+        Matcher matcher = TAGGED_LINE.matcher(line);
+        if (matcher.matches()) {
+            tag = matcher.group(1).toUpperCase(Locale.ROOT);
+            message = matcher.group(2);
+        }
+        String level = levelOf(tag, message);
+
+        LogEntry entry;
+        synchronized (entries) {
+            entry = new LogEntry(++nextSeq, System.currentTimeMillis(), level, tag, worker, message);
+            entries.addLast(entry);
+            if (entries.size() > capacity) {
+                entries.removeFirst();
+            }
+        }
+
+        // 백엔드 콘솔에는 오류만 남기고 나머지는 debug로
+        if ("ERROR".equals(level)) {
+            log.warn("[{}] {}", worker, line);
+        } else {
+            log.debug("[{}] {}", worker, line);
+        }
+
+        if (!subscribers.isEmpty()) {
+            fanOut.execute(this::drain);
+        }
+        return entry;
+    }
+
+    /**
+     * 최근 로그 스냅샷. afterSeq가 있으면 그 이후 로그만, level이 있으면 해당 레벨 이상만 반환합니다.
+     */
+    public List<LogEntry> snapshot(Long afterSeq, String minLevel, int limit) {
+        int threshold = severity(minLevel);
+        List<LogEntry> result = new ArrayList<>();
+        synchronized (entries) {
+            for (LogEntry entry : entries) {
+                if ((afterSeq == null || entry.seq() > afterSeq) && severity(entry.level()) >= threshold) {
+                    result.add(entry);
+                }
+            }
+        }
+        int size = result.size();
+        return size > limit ? new ArrayList<>(result.subList(size - limit, size)) : result;
+    }
+
+    public long getLastSeq() {
+        synchronized (entries) {
+            return nextSeq;
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * SSE 구독을 등록합니다. afterSeq(Last-Event-ID) 이후에 버퍼에 남아 있는 로그를 먼저 보내
+     * 재연결한 클라이언트가 놓친 로그를 이어 받을 수 있게 합니다.
+     */
+    public SseEmitter subscribe(Long afterSeq) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        emitter.onCompletion(() -> unsubscribe(emitter));
+        emitter.onTimeout(() -> {
+            unsubscribe(emitter);
+            emitter.complete();
+        });
+        emitter.onError(e -> unsubscribe(emitter));
+
+        // 등록은 바로 하고 전송만 전송 스레드에 맡김 (등록 이후 추가된 로그도 cursor 기준으로 빠짐없이 전송)
+        subscribers.add(new Subscriber(emitter, afterSeq == null ? 0 : afterSeq));
+        fanOut.execute(this::drain);
+        return emitter;
+    }
+
+    private void unsubscribe(SseEmitter emitter) {
+        subscribers.removeIf(s -> s.emitter == emitter);
+    }
+
+    // 각 구독자에게 cursor 이후의 로그를 순서대로 전송 (전송 스레드에서만 실행)
+    private void drain() {
+        for (Subscriber subscriber : subscribers) {
+            try {
+                for (LogEntry entry : snapshot(subscriber.cursor, null, capacity)) {
+                    send(subscriber.emitter, entry);
+                    subscriber.cursor = entry.seq();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // 연결이 끊긴 구독자는 제거
+                subscribers.remove(subscriber);
+                subscriber.emitter.completeWithError(e);
+            }
+        }
+    }
+
+    private void send(SseEmitter emitter, LogEntry entry) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(String.valueOf(entry.seq()))
+                .name("log")
+                .data(entry));
+    }
+
+    private static String levelOf(String tag, String message) {
+        if (tag == null) {
+            // 태그 없는 줄은 Python 예외 출력인지 정도만 구분
+            return message.startsWith("Traceback") ? "ERROR" : "INFO";
+        }
+        return switch (tag) {
+            case "ERROR", "CRITICAL", "FATAL" -> "ERROR";
+            case "WARNING", "WARN" -> "WARN";
+            case "DEBUG" -> "DEBUG";
+            default -> "INFO"; // INFO, SUCCESS, WAIT 등
+        };
+    }
+
+    private static int severity(String level) {
+        if (level == null) {
+            return 0;
+        }
+        return switch (level.toUpperCase(Locale.ROOT)) {
+            case "ERROR" -> 3;
+            case "WARN", "WARNING" -> 2;
+            case "INFO" -> 1;
+            default -> 0;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(s -> s.emitter.complete());
+        subscribers.clear();
+        fanOut.shutdownNow();
+    }
+}
@@ -0,0 +1,179 @@
+package com.project.jejubeach.service;
+
+import com.project.jejubeach.dto.DetectionSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AI 분석 성능 지표.
+ * 해변별 추론 시간, 처리 프레임 수, 실효 FPS, 큐 대기 시간, 프레임 분석부터 DB 커밋까지의 지연을
+ * Micrometer(ai.*)로 내보내고 상태 API용 요약(p50/p95/p99)을 제공합니다.
+ */
+@Component
+public class AIModelMetrics {
+
+    // 최근 구간의 분위수만 보도록 히스토그램 누적 기간 제한
+    private static final Duration STATISTIC_EXPIRY = Duration.ofMinutes(5);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, BeachMetrics> beaches = new ConcurrentHashMap<>();
+    // 분석한 프레임 시각(분석 시작 시각) - 해당 source의 탐지 데이터가 커밋되면 지연 시간 기록
+    private final Map<String, Long> pendingCommits = new ConcurrentHashMap<>();
+    private final LongAdder analyses = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder frames = new LongAdder();
+    private final Counter analysisCounter;
+
+    public AIModelMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.analysisCounter = meterRegistry.counter("ai.analysis.count");
+    }
+
+    /**
+     * stdio 워커의 분석 결과를 기록합니다.
+     */
+    public void recordAnalysis(AIWorkerProcess.AnalysisResult result, long queueWaitMs, long completedAt) {
+        BeachMetrics m = beach(result.source());
+        m.analysisTime.record(result.elapsedMs(), TimeUnit.MILLISECONDS);
+        m.inferenceTime.record(result.inferenceMs(), TimeUnit.MILLISECONDS);
+        m.queueWait.record(Math.max(0, queueWaitMs), TimeUnit.MILLISECONDS);
+        m.frameCounter.increment(result.framesProcessed());
+        m.frames.add(result.framesProcessed());
+        m.analyses.increment();
+        if (result.inferenceMs() > 0 && result.framesProcessed() > 0) {
+            double fps = result.framesProcessed() * 1000.0 / result.inferenceMs();
+            m.fps.record(fps);
+            m.lastFps = fps;
+        }
+        frames.add(result.framesProcessed());
+        analyses.increment();
+        analysisCounter.increment();
+        pendingCommits.put(result.source(), completedAt - result.elapsedMs());
+    }
+
+    public void recordFailure(String source) {
+        BeachMetrics m = beach(source);
+        m.failureCounter.increment();
+        m.failures.increment();
+        failures.increment();
+    }
+
+    // http 모드: 스크립트가 직접 저장한 탐지 데이터 수만큼 분석 횟수 증가
+    public void recordExternalAnalyses(int count) {
+        analyses.add(count);
+        analysisCounter.increment(count);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDetectionSaved(DetectionSavedEvent event) {
+        long now = System.currentTimeMillis();
+        for (DetectionSnapshot snapshot : event.detections()) {
+            Long frameAt = pendingCommits.remove(snapshot.source());
+            if (frameAt != null) {
+                beach(snapshot.source()).commitLatency.record(now - frameAt, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    public long getAnalysisCount() {
+        return analyses.sum();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("analyses", analyses.sum());
+        stats.put("failures", failures.sum());
+        stats.put("framesProcessed", frames.sum());
+
+        Map<String, Object> perBeach = new LinkedHashMap<>();
+        beaches.forEach((source, m) -> {
+            Map<String, Object> b = new LinkedHashMap<>();
+            b.put("analyses", m.analyses.sum());
+            b.put("failures", m.failures.sum());
+            b.put("framesProcessed", m.frames.sum());
+            b.put("lastFps", Math.round(m.lastFps * 10) / 10.0);
+            b.put("analysisMs", summarize(m.analysisTime));
+            b.put("inferenceMs", summarize(m.inferenceTime));
+            b.put("queueWaitMs", summarize(m.queueWait));
+            b.put("frameToCommitMs", summarize(m.commitLatency));
+            perBeach.put(source, b);
+        });
+        stats.put("beaches", perBeach);
+        return stats;
+    }
+
+    private BeachMetrics beach(String source) {
+        return beaches.computeIfAbsent(source, BeachMetrics::new);
+    }
+
+    private static Map<String, Object> summarize(Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", snapshot.count());
+        summary.put("mean", Math.round(snapshot.mean(TimeUnit.MILLISECONDS)));
+        for (ValueAtPercentile p : snapshot.percentileValues()) {
+            summary.put("p" + Math.round(p.percentile() * 100), Math.round(p.value(TimeUnit.MILLISECONDS)));
+        }
+        summary.put("max", Math.round(snapshot.max(TimeUnit.MILLISECONDS)));
+        return summary;
+    }
+
+    private final class BeachMetrics {
+        private final Timer analysisTime;
+        private final Timer inferenceTime;
+        private final Timer queueWait;
+        private final Timer commitLatency;
+        private final DistributionSummary fps;
+        private final Counter frameCounter;
+        private final Counter failureCounter;
+        private final LongAdder analyses = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder frames = new LongAdder();
+        private volatile double lastFps;
+
+        private BeachMetrics(String source) {
+            analysisTime = timer("ai.analysis.time", "해변 분석 명령 처리 시간 (영상 디코딩 포함)", source);
+            inferenceTime = timer("ai.inference.time", "해변 분석 중 탐지+추적에 쓴 시간", source);
+            queueWait = timer("ai.queue.wait", "분석 작업이 워커 큐에서 기다린 시간", source);
+            commitLatency = timer("ai.frame.commit.latency", "프레임 분석 시작부터 탐지 데이터 DB 커밋까지의 지연", source);
+            fps = DistributionSummary.builder("ai.inference.fps")
+                    .description("추론 시간 기준 실효 FPS")
+                    .tag("beach", source)
+                    .publishPercentiles(0.5, 0.95)
+                    .distributionStatisticExpiry(STATISTIC_EXPIRY)
+                    .register(meterRegistry);
+            frameCounter = Counter.builder("ai.frames.processed")
+                    .description("분석한 프레임 수")
+                    .tag("beach", source)
+                    .register(meterRegistry);
+            failureCounter = Counter.builder("ai.analysis.failures")
+                    .description("분석 실패 횟수")
+                    .tag("beach", source)
+                    .register(meterRegistry);
+        }
+
+        private Timer timer(String name, String description, String source) {
+            return Timer.builder(name)
+                    .description(description)
+                    .tag("beach", source)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .distributionStatisticExpiry(STATISTIC_EXPIRY)
+                    .register(meterRegistry);
+        }
+    }
+}
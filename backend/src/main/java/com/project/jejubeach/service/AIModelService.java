@@ -1,26 +1,72 @@
 package com.project.jejubeach.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.jejubeach.dto.DetectionCreateReq;
+import com.project.jejubeach.entity.Beach;
+import com.project.jejubeach.repository.BeachRepository;
+import com.project.jejubeach.util.ContentHash;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class AIModelService {
 
+    // 분석 대상 해변 목록을 DB에서 다시 읽는 주기
+    private static final long TARGET_REFRESH_MS = 30_000;
+    private static final String MANIFEST_FILE = ".resources.properties";
+    private static final String PIP_STAMP_FILE = ".pip-stamp";
+    // Python 워커 기본 해변 목록과 같은 source 명명 규칙 (예: hamduck_camera_01)
+    private static final String CAMERA_SOURCE_SUFFIX = "_camera_01";
+
+    private final ObjectMapper objectMapper;
+    private final DetectionIngestService ingestService;
+    private final BeachRepository beachRepository;
+    private final BeachAliasService aliasService;
+    private final AnalysisScheduleService scheduleService;
+    private final AIModelLogBuffer logBuffer;
+    private final AIModelMetrics metrics;
+    private final OnnxDetectionEngine onnxEngine;
+    private final AnalysisResultCache resultCache;
+    private final FileHashCache fileHashCache;
+    private final VideoStorageService videoStorageService;
+    private final VideoCatalogService videoCatalogService;
+
     @Value("${ai.model.python-path:python3}")
     private String pythonPath;
 
@@ -33,10 +79,89 @@ public class AIModelService {
     @Value("${ai.model.enabled:true}")
     private boolean aiModelEnabled;
 
-    private Process aiModelProcess;
-    private long startTime;
-    private int analysisCount = 0;
+    // python: Python 스크립트(http/stdio), onnx: JVM 내장 ONNX Runtime 엔진 (항상 워커 풀 + 분석 일정 사용)
+    @Value("${ai.model.engine:python}")
+    private String engine;
+
+    // 기본 분석 간격 (http 모드는 스크립트 자체 주기, stdio 모드는 일정 정책의 기준값)
+    @Value("${ai.model.analysis-interval-seconds:30}")
+    private long analysisIntervalSeconds;
+
+    // http: 스크립트가 자체 주기로 분석 후 REST API로 전송, stdio: 백엔드가 파이프로 분석 명령을 보내고 결과를 직접 저장
+    @Value("${ai.model.transport:http}")
+    private String transport;
+
+    // stdio 모드에서 모델 로딩(ready 프레임)까지 기다리는 시간
+    @Value("${ai.model.ready-timeout-seconds:300}")
+    private long readyTimeoutSeconds;
+
+    // stdio 모드에서 한 주기 분석 결과를 기다리는 최대 시간
+    @Value("${ai.model.cycle-timeout-seconds:120}")
+    private long cycleTimeoutSeconds;
+
+    // stdio 모드에서 해변 분석을 나눠 처리할 워커 프로세스 수
+    @Value("${ai.model.workers:1}")
+    private int workerCount;
+
+    // 추출한 리소스와 pip 설치 상태를 보관하는 영구 캐시 디렉토리 (비우면 매번 임시 디렉토리 사용)
+    @Value("${ai.model.cache-dir:./ai-cache}")
+    private String cacheDir;
+
+    // 프로세스 감시: 비정상 종료/heartbeat 누락 시 지수 백오프(+지터)로 자동 재시작
+    @Value("${ai.model.supervisor.enabled:true}")
+    private boolean supervisorEnabled;
+
+    @Value("${ai.model.supervisor.initial-backoff-ms:2000}")
+    private long initialBackoffMs;
+
+    @Value("${ai.model.supervisor.max-backoff-ms:300000}")
+    private long maxBackoffMs;
+
+    // 이 시간 이상 정상 실행되었으면 다음 재시작은 다시 초기 대기 시간부터
+    @Value("${ai.model.supervisor.stable-after-ms:600000}")
+    private long stableAfterMs;
+
+    // 분석 간격의 이 배수 동안 탐지 데이터가 없으면 멈춘 것으로 판단
+    @Value("${ai.model.supervisor.heartbeat-missed-intervals:3}")
+    private int heartbeatMissedIntervals;
+
+    private volatile Process aiModelProcess;
+    private volatile AIWorkerPool pool;
+    private volatile ScheduledExecutorService analysisScheduler;
+    private volatile List<AIWorkerProcess.BeachTarget> lastTargets = List.of();
+    private volatile long lastTargetsLoadedAt;
+    private volatile long startTime;
     private Path tempWorkingDir;
+    private boolean persistentWorkingDir;
+
+    // 프로세스/워커 풀 시작·종료 (짧게만 잡으므로 상태 조회/중지가 기다리지 않음)
+    private final Object lifecycleLock = new Object();
+    // 작업 디렉토리 준비(리소스 추출, pip 설치)는 한 번에 하나만 (lifecycleLock과 별도)
+    private final Object prepareLock = new Object();
+    // 명시적 중지/재시작마다 증가하여, 이전 프로세스의 종료가 자동 재시작을 일으키지 않도록 함
+    private final AtomicLong processGeneration = new AtomicLong();
+    private final AtomicInteger restartCount = new AtomicInteger();
+    private final ScheduledExecutorService supervisor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "ai-supervisor");
+        t.setDaemon(true);
+        return t;
+    });
+    // 분석 결과 저장 (끝난 순서대로 한 건씩 저장하므로 같은 해변의 이전 결과가 나중 결과보다 늦게 저장되지 않음)
+    private final ExecutorService resultWriter = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "ai-result-writer");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile boolean supervising;
+    private volatile int consecutiveFailures;
+    private volatile long lastHeartbeat;
+    private volatile ScheduledFuture<?> pendingRestart;
+
+    @PostConstruct
+    void initSupervisor() {
+        supervisor.scheduleWithFixedDelay(this::checkHeartbeat,
+                analysisIntervalSeconds, analysisIntervalSeconds, TimeUnit.SECONDS);
+    }
 
     @EventListener(ApplicationReadyEvent.class)
     public void startAIModel() {
@@ -51,75 +176,115 @@ public class AIModelService {
         log.info("   - 스크립트 파일: {}", scriptPath);
         log.info("   - 작업 디렉토리: {}", workingDir);
         
-        // 비동기로 AI 모델 실행
-        CompletableFuture.runAsync(() -> {
-            try {
-                // 잠시 대기 (백엔드 완전 시작 후)
-                Thread.sleep(3000);
-                startAIModelProcess();
-            } catch (Exception e) {
-                log.error("AI 모델 실행 중 오류 발생", e);
-            }
-        });
+        // 백엔드 완전 시작 후 비동기로 AI 모델 실행
+        supervising = supervisorEnabled;
+        supervisor.schedule(this::launch, 3, TimeUnit.SECONDS);
     }
 
-    private void startAIModelProcess() {
+    // 프로세스를 시작하고, 감시 중이면 시작 실패도 재시작 대상으로 처리
+    private void launch() {
         try {
-            // JAR 내부 리소스를 임시 디렉토리로 추출
-            tempWorkingDir = extractJarResources();
-            if (tempWorkingDir == null) {
-                log.error("JAR 내부 리소스 추출 실패");
-                return;
+            if (!startAIModelProcess() && supervising) {
+                scheduleRestart("시작 실패");
             }
+        } catch (Exception e) {
+            log.error("AI 모델 실행 중 오류 발생", e);
+        }
+    }
 
-            log.info("✅ 임시 작업 디렉토리 생성 완료: {}", tempWorkingDir);
-
-            // Python 스크립트 파일 확인
-            Path scriptFilePath = tempWorkingDir.resolve(scriptPath);
-            if (!Files.exists(scriptFilePath)) {
-                log.error("AI 모델 스크립트를 찾을 수 없습니다: {}", scriptFilePath);
-                return;
+    // 리소스 추출/pip 설치는 수 분이 걸릴 수 있으므로 lifecycleLock 밖에서 하고, 프로세스 시작만 lock 안에서 수행
+    private boolean startAIModelProcess() {
+        synchronized (prepareLock) {
+            if (aiModelProcess != null && aiModelProcess.isAlive()) {
+                log.warn("⚠️ AI 모델이 이미 실행 중입니다.");
+                return true;
             }
+            long generation = processGeneration.get();
+            Path preparedDir = prepareWorkingDir();
+            if (preparedDir == null) {
+                return false;
+            }
+            synchronized (lifecycleLock) {
+                // 준비하는 동안 중지/재시작 요청이 들어왔으면 이번 시작은 취소 (재시작은 자신의 launch로 다시 시작)
+                if (generation != processGeneration.get()) {
+                    log.info("ℹ️ 준비 중 중지/재시작 요청이 있어 AI 모델 시작을 취소합니다.");
+                    return true;
+                }
+                if (aiModelProcess != null && aiModelProcess.isAlive()) {
+                    log.warn("⚠️ AI 모델이 이미 실행 중입니다.");
+                    return true;
+                }
+                tempWorkingDir = preparedDir;
+                return doStartAIModelProcess();
+            }
+        }
+    }
+
+    // 작업 디렉토리 준비 (리소스 추출, 스크립트 확인, Python 패키지 설치)
+    private Path prepareWorkingDir() {
+        // JAR 내부 리소스를 임시 디렉토리로 추출
+        Path preparedDir = extractJarResources();
+        if (preparedDir == null) {
+            log.error("JAR 내부 리소스 추출 실패");
+            return null;
+        }
 
-            log.info("✅ AI 모델 스크립트 확인 완료: {}", scriptFilePath);
+        log.info("✅ 작업 디렉토리 준비 완료: {}", preparedDir);
 
-            // 필요한 Python 패키지 자동 설치
-            installRequiredPackages(tempWorkingDir);
+        if (isOnnxEngine()) {
+            return preparedDir;
+        }
 
-            // 환경변수 설정
-            ProcessBuilder processBuilder = new ProcessBuilder();
-            processBuilder.command(
-                pythonPath,
-                scriptPath
-            );
-            
-            // 작업 디렉토리 설정
-            processBuilder.directory(tempWorkingDir.toFile());
-            
-            // 환경변수 설정
-            processBuilder.environment().put("BACKEND_URL", "http://localhost:8080");
-            processBuilder.environment().put("ANALYSIS_INTERVAL", "30");
-            
-            // 표준 출력과 에러를 현재 프로세스와 연결
-            processBuilder.inheritIO();
-            
-            log.info("🚀 AI 모델 프로세스 시작: {}", tempWorkingDir);
+        // Python 스크립트 파일 확인
+        Path scriptFilePath = preparedDir.resolve(scriptPath);
+        if (!Files.exists(scriptFilePath)) {
+            log.error("AI 모델 스크립트를 찾을 수 없습니다: {}", scriptFilePath);
+            return null;
+        }
+
+        log.info("✅ AI 모델 스크립트 확인 완료: {}", scriptFilePath);
+
+        // 필요한 Python 패키지 자동 설치
+        installRequiredPackages(preparedDir);
+        return preparedDir;
+    }
+
+    private boolean doStartAIModelProcess() {
+        try {
+            if (isOnnxEngine()) {
+                log.info("🚀 JVM 내장 ONNX 탐지 엔진 시작: {}", tempWorkingDir);
+                log.info("⏰ 분석 간격: {}초", analysisIntervalSeconds);
+                return startWorkerPool();
+            }
+
+            boolean stdio = isStdioTransport();
+            log.info("🚀 AI 모델 프로세스 시작: {} (전송 방식: {})", tempWorkingDir, stdio ? "stdio" : "http");
             log.info("🔗 백엔드 URL: http://localhost:8080");
-            log.info("⏰ 분석 간격: 30초");
+            log.info("⏰ 분석 간격: {}초", analysisIntervalSeconds);
+            
+            if (stdio) {
+                return startWorkerPool();
+            }
+            ProcessBuilder processBuilder = newProcessBuilder(false);
             
-            // 프로세스 시작
-            aiModelProcess = processBuilder.start();
-            startTime = System.currentTimeMillis();
+            // 프로세스 시작 (stdout/stderr는 로그 버퍼로 수집)
+            Process process = processBuilder.start();
+            logBuffer.capture(process.getInputStream(), "ai-model");
+            long generation = processGeneration.get();
+            long startedAt = System.currentTimeMillis();
+            Path processDir = tempWorkingDir;
+            aiModelProcess = process;
+            startTime = startedAt;
             
             // 프로세스가 정상적으로 시작되었는지 확인
-            if (aiModelProcess.isAlive()) {
+            if (process.isAlive()) {
                 log.info("✅ AI 모델 프로세스가 성공적으로 시작되었습니다. (PID: {})", 
-                    getProcessId(aiModelProcess));
+                    getProcessId(process));
                 
-                // 프로세스 종료 대기 (별도 스레드에서)
-                CompletableFuture.runAsync(() -> {
+                // 프로세스 종료 대기 (공용 풀을 점유하지 않도록 전용 스레드에서)
+                Thread exitWatcher = new Thread(() -> {
                     try {
-                        int exitCode = aiModelProcess.waitFor();
+                        int exitCode = process.waitFor();
                         log.info("🛑 AI 모델 프로세스가 종료되었습니다. (종료 코드: {})", exitCode);
                         
                         // 종료 코드에 따른 분석
@@ -132,13 +297,18 @@ public class AIModelService {
                         }
                         
                         // 임시 디렉토리 정리
-                        cleanupTempDirectory();
+                        cleanupTempDirectory(processDir);
+                        
+                        onProcessExit(generation, exitCode, startedAt);
                         
                     } catch (InterruptedException e) {
                         log.warn("AI 모델 프로세스 대기가 중단되었습니다.");
                         Thread.currentThread().interrupt();
                     }
-                });
+                }, "ai-process-exit");
+                exitWatcher.setDaemon(true);
+                exitWatcher.start();
+                return true;
                 
             } else {
                 log.error("❌ AI 모델 프로세스 시작 실패");
@@ -149,34 +319,331 @@ public class AIModelService {
         } catch (Exception e) {
             log.error("AI 모델 프로세스 시작 중 예상치 못한 오류 발생", e);
         }
+        return false;
+    }
+
+    private ProcessBuilder newProcessBuilder(boolean stdio) {
+        ProcessBuilder processBuilder = new ProcessBuilder();
+        processBuilder.command(
+            pythonPath,
+            scriptPath
+        );
+        
+        // 작업 디렉토리 설정
+        processBuilder.directory(tempWorkingDir.toFile());
+        
+        // 환경변수 설정
+        processBuilder.environment().put("BACKEND_URL", "http://localhost:8080");
+        processBuilder.environment().put("ANALYSIS_INTERVAL", String.valueOf(analysisIntervalSeconds));
+        // 파이프로 연결되면 Python이 출력을 모아서 내보내므로 로그가 바로 보이도록 버퍼링 해제
+        processBuilder.environment().put("PYTHONUNBUFFERED", "1");
+        
+        if (stdio) {
+            // stdin/stdout은 명령/결과 프레임 파이프로 사용하고 로그(stderr)는 로그 버퍼로 수집
+            processBuilder.environment().put("WORKER_MODE", "stdio");
+            // 워커 여러 개가 각자 모든 코어를 쓰려고 경쟁하지 않도록 추론 스레드 수를 나눔
+            if (workerCount > 1) {
+                int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / workerCount);
+                processBuilder.environment().putIfAbsent("OMP_NUM_THREADS", String.valueOf(threads));
+            }
+        } else {
+            // 표준 출력과 에러를 합쳐서 한 스트림으로 수집
+            processBuilder.redirectErrorStream(true);
+        }
+        return processBuilder;
+    }
+
+    // stdio 워커 풀을 띄우고 일정 간격으로 해변별 분석 작업을 나눠 보냄
+    private boolean startWorkerPool() {
+        Path dir = tempWorkingDir;
+        int threadsPerWorker = Math.max(1, Runtime.getRuntime().availableProcessors() / Math.max(1, workerCount));
+        AIWorkerPool.WorkerFactory factory = isOnnxEngine()
+                ? workerName -> new OnnxAnalysisWorker(workerName, onnxEngine, dir, threadsPerWorker)
+                : workerName -> {
+                    Process process = newProcessBuilder(true).start();
+                    logBuffer.capture(process.getErrorStream(), workerName);
+                    return new AIWorkerProcess(workerName, process, objectMapper);
+                };
+        AIWorkerPool newPool = new AIWorkerPool(workerCount, factory,
+                TimeUnit.SECONDS.toMillis(readyTimeoutSeconds), TimeUnit.SECONDS.toMillis(cycleTimeoutSeconds),
+                initialBackoffMs, maxBackoffMs);
+        pool = newPool;
+        startTime = System.currentTimeMillis();
+        lastTargetsLoadedAt = 0;
+        resultCache.setModelVersion(describeModelVersion(dir));
+        scheduleService.reset(newPool.size());
+        log.info("✅ AI 워커 풀 시작 (워커 {}개, 분석 일정 정책: {})", newPool.size(), scheduleService.getPolicyName());
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "ai-analysis-scheduler");
+            t.setDaemon(true);
+            return t;
+        });
+        analysisScheduler = scheduler;
+        // 해변마다 다음 분석 시각이 다르므로 1초마다 차례가 된 해변만 보냄
+        scheduler.scheduleWithFixedDelay(() -> dispatchDueBeaches(newPool), 0, 1, TimeUnit.SECONDS);
+        return true;
+    }
+
+    // 분석 결과 캐시 키에 들어가는 엔진/모델/샘플링 설정 (하나라도 바뀌면 이전 결과는 쓰지 않음)
+    private String describeModelVersion(Path dir) {
+        try {
+            if (isOnnxEngine()) {
+                return "onnx|" + fileHashCache.hashOf(onnxEngine.resolveModel(dir)) + "|" + onnxEngine.getParameterSignature();
+            }
+            // Python 스크립트가 샘플링 방식을 정하고, 탐지 설정은 환경변수로 덮어쓸 수 있음
+            Path weights = dir.resolve("yolov8n.pt");
+            StringBuilder version = new StringBuilder("python|")
+                    .append(fileHashCache.hashOf(dir.resolve(scriptPath))).append('|')
+                    .append(Files.exists(weights) ? fileHashCache.hashOf(weights) : "yolov8n.pt");
+            for (String name : List.of("YOLO_WEIGHTS", "YOLO_CONF", "YOLO_IOU", "YOLO_IMGSZ", "FALL_RATIO", "FALL_MAX_HEIGHT_RATIO")) {
+                version.append('|').append(name).append('=').append(System.getenv().getOrDefault(name, ""));
+            }
+            return version.toString();
+        } catch (IOException e) {
+            log.warn("⚠️ 모델 버전 확인 실패 - 분석 결과 캐시를 사용하지 않습니다: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // 감시 중인 프로세스가 명시적 중지 없이 종료되면 재시작 예약
+    private void onProcessExit(long generation, int exitCode, long startedAt) {
+        if (!supervising || generation != processGeneration.get()) {
+            return;
+        }
+        if (System.currentTimeMillis() - startedAt >= stableAfterMs) {
+            consecutiveFailures = 0;
+        }
+        scheduleRestart("종료 코드 " + exitCode);
+    }
+
+    private void scheduleRestart(String reason) {
+        int attempt = consecutiveFailures++;
+        long backoff = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt, 20));
+        // 여러 인스턴스가 같은 시점에 재시작하지 않도록 대기 시간의 50~100% 사이에서 무작위 선택
+        long delay = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        log.warn("🔁 AI 모델 {}ms 후 재시작 예정 (연속 {}회, 사유: {})", delay, attempt + 1, reason);
+        pendingRestart = supervisor.schedule(() -> {
+            if (!supervising) {
+                return;
+            }
+            restartCount.incrementAndGet();
+            launch();
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void cancelPendingRestart() {
+        ScheduledFuture<?> pending = pendingRestart;
+        if (pending != null) {
+            pending.cancel(false);
+        }
+    }
+
+    // 프로세스는 살아 있지만 분석 간격의 N배 동안 탐지 데이터가 없으면 강제 종료 (종료 감시/워커 슬롯이 재시작)
+    private void checkHeartbeat() {
+        AIWorkerPool currentPool = pool;
+        Process process = aiModelProcess;
+        boolean alive = currentPool != null ? currentPool.isRunning() : process != null && process.isAlive();
+        if (!supervising || !alive) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        // 워커 풀은 풀이 직접 받은 분석 결과 시각으로 판단 (캐시 재생이나 DB 상태와 무관)
+        // http 모드는 스크립트의 전송을 받아들인 시각으로 판단 (DB 장애로 spool에 기록되거나 변화 감지로 저장이 생략되어도 수신)
+        long received = currentPool != null
+                ? currentPool.getLastProgressAt()
+                : Math.max(lastHeartbeat, ingestService.getLastAcceptedAt());
+        // 모델 로딩 시간은 유예
+        long since = Math.max(received, startTime + TimeUnit.SECONDS.toMillis(readyTimeoutSeconds));
+        // stdio 모드에서는 모든 해변의 간격이 늘어난 경우(예: 야간) 그만큼 기다림
+        long intervalMs = TimeUnit.SECONDS.toMillis(analysisIntervalSeconds);
+        if (currentPool != null) {
+            intervalMs = Math.max(intervalMs, scheduleService.getShortestIntervalMs());
+        }
+        long limitMs = intervalMs * heartbeatMissedIntervals;
+        if (now - since > limitMs) {
+            log.warn("⚠️ AI 모델 heartbeat 없음 ({}초) - 프로세스를 재시작합니다.", (now - since) / 1000);
+            if (currentPool != null) {
+                currentPool.recycleAll();
+            } else {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    // 탐지 데이터가 저장될 때마다 heartbeat 갱신
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDetectionSaved(DetectionSavedEvent event) {
+        lastHeartbeat = System.currentTimeMillis();
+        // http 모드는 스크립트가 직접 저장하므로 저장된 건수로 분석 횟수를 셈 (stdio 모드는 결과 수신 시 기록)
+        Process process = aiModelProcess;
+        if (pool == null && process != null && process.isAlive()) {
+            metrics.recordExternalAnalyses(event.detections().size());
+        }
+    }
+
+    private boolean isOnnxEngine() {
+        return "onnx".equalsIgnoreCase(engine);
+    }
+
+    private boolean isStdioTransport() {
+        return "stdio".equalsIgnoreCase(transport);
+    }
+
+    private void dispatchDueBeaches(AIWorkerPool target) {
+        // 준비된 워커가 없으면 작업이 쌓이지 않도록 건너뜀
+        if (target.readyCount() == 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<AIWorkerProcess.BeachTarget> due = scheduleService.takeDue(loadTargets(target), now);
+        if (due.isEmpty()) {
+            return;
+        }
+        // 같은 영상/모델로 이미 분석한 해변은 저장된 결과를 재생하고 나머지만 워커에 보냄
+        List<AIWorkerProcess.BeachTarget> beaches = new ArrayList<>(due.size());
+        List<CompletableFuture<AIWorkerProcess.AnalysisResult>> futures = new ArrayList<>(due.size());
+        List<AIWorkerProcess.BeachTarget> toAnalyze = new ArrayList<>();
+        for (AIWorkerProcess.BeachTarget beach : due) {
+            Optional<AIWorkerProcess.AnalysisResult> cached = resultCache.lookup(beach);
+            if (cached.isPresent()) {
+                beaches.add(beach);
+                futures.add(CompletableFuture.completedFuture(cached.get()));
+            } else {
+                toAnalyze.add(beach);
+            }
+        }
+        int replayed = beaches.size();
+        if (!toAnalyze.isEmpty()) {
+            beaches.addAll(toAnalyze);
+            futures.addAll(target.submit(toAnalyze));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            AIWorkerProcess.BeachTarget beach = beaches.get(i);
+            boolean fromCache = i < replayed;
+            // 마감 시간 안에 시작하지 못한 작업은 취소되어 워커가 건너뜀
+            futures.get(i)
+                    .orTimeout(cycleTimeoutSeconds, TimeUnit.SECONDS)
+                    .handle((r, e) -> {
+                        long done = System.currentTimeMillis();
+                        if (e == null) {
+                            // 다른 해변을 기다리지 않고 바로 저장 (순번은 분석이 끝난 시각)
+                            // 저장 작업을 먼저 넣은 뒤 다음 분석을 허용해야 같은 해변의 새 결과가 먼저 저장되지 않음
+                            DetectionCreateReq reading = new DetectionCreateReq(r.personCount(), r.fallenCount(), r.source(), done);
+                            resultWriter.execute(() -> saveReadings(List.of(reading)));
+                            scheduleService.onResult(r, done);
+                            if (!fromCache) {
+                                AIWorkerPool.BeachFreshness fresh = target.getFreshness().get(r.source());
+                                metrics.recordAnalysis(r, fresh != null ? fresh.queueWaitMs() : 0, done);
+                                resultCache.store(beach, r);
+                            }
+                        } else {
+                            scheduleService.onFailure(beach.source(), done);
+                            metrics.recordFailure(beach.source());
+                            log.warn("⚠️ {} 분석 실패: {}", beach.name(), e.getMessage());
+                        }
+                        return null;
+                    });
+        }
+    }
+
+    private void saveReadings(List<DetectionCreateReq> readings) {
+        if (readings.isEmpty()) {
+            return;
+        }
+        try {
+            ingestService.ingestAll(List.copyOf(readings));
+        } catch (Exception e) {
+            log.error("❌ 분석 결과 저장 실패 ({}건): {}", readings.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * 활성 해변 중 동영상이 동영상 저장소에 있는 해변을 분석 대상으로 만듭니다.
+     * DB를 읽을 수 없으면 직전 목록을, 대상이 하나도 없으면 워커의 기본 해변 목록을 사용합니다.
+     */
+    private List<AIWorkerProcess.BeachTarget> loadTargets(AIWorkerPool target) {
+        long now = System.currentTimeMillis();
+        if (!lastTargets.isEmpty() && now - lastTargetsLoadedAt < TARGET_REFRESH_MS) {
+            return lastTargets;
+        }
+        lastTargetsLoadedAt = now;
+        try {
+            List<AIWorkerProcess.BeachTarget> targets = new ArrayList<>();
+            for (Beach beach : beachRepository.findByStatus(Beach.BeachStatus.ACTIVE)) {
+                String videoPath = beach.getVideoPath();
+                if (videoPath == null || videoPath.isBlank()) {
+                    continue;
+                }
+                String fileName = videoPath.substring(videoPath.lastIndexOf('/') + 1);
+                Optional<VideoStorageService.VideoFile> video = videoStorageService.find(fileName);
+                if (video.isEmpty()) {
+                    continue;
+                }
+                String key = aliasService.getBeachKey(beach.getId());
+                if (key == null) {
+                    key = BeachAliasService.normalizeSourceKey(fileName);
+                }
+                targets.add(new AIWorkerProcess.BeachTarget(beach.getName(), key + CAMERA_SOURCE_SUFFIX, video.get().path().toString()));
+            }
+            lastTargets = targets.isEmpty() ? target.getDefaultTargets() : targets;
+        } catch (Exception e) {
+            log.warn("⚠️ 분석 대상 해변 조회 실패, 직전 목록 사용: {}", e.getMessage());
+        }
+        return lastTargets;
+    }
+
+    private void stopAnalysisScheduler() {
+        ScheduledExecutorService scheduler = analysisScheduler;
+        analysisScheduler = null;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
     }
 
     private Path extractJarResources() {
         try {
-            // 임시 디렉토리 생성
-            Path tempDir = Files.createTempDirectory("jejubeach_ai_");
-            log.info("📁 임시 디렉토리 생성: {}", tempDir);
+            Path targetDir;
+            if (cacheDir == null || cacheDir.isBlank()) {
+                // 캐시 미사용: 매번 임시 디렉토리 생성
+                targetDir = Files.createTempDirectory("jejubeach_ai_");
+                persistentWorkingDir = false;
+                log.info("📁 임시 디렉토리 생성: {}", targetDir);
+            } else {
+                targetDir = Paths.get(cacheDir).toAbsolutePath().normalize();
+                Files.createDirectories(targetDir);
+                persistentWorkingDir = true;
+                log.info("📁 AI 리소스 캐시 디렉토리: {}", targetDir);
+            }
+
+            Properties manifest = loadManifest(targetDir);
+            int extracted = 0;
 
             // Python 스크립트 추출
-            extractResource("python/" + scriptPath, tempDir.resolve(scriptPath));
+            if (extractResource("python/" + scriptPath, targetDir.resolve(scriptPath), manifest)) extracted++;
             
             // requirements.txt 추출
-            extractResource("python/requirements.txt", tempDir.resolve("requirements.txt"));
+            if (extractResource("python/requirements.txt", targetDir.resolve("requirements.txt"), manifest)) extracted++;
             
             // YOLO 모델 파일 추출
-            extractResource("python/yolov8n.pt", tempDir.resolve("yolov8n.pt"));
-            
-            // 비디오 파일들 추출
-            String[] videoFiles = {"hamduck_beach.mp4", "iho_beach.mp4", "walljeonglee_beach.mp4", "test_beach.mp4"};
-            for (String videoFile : videoFiles) {
+            if (extractResource("python/yolov8n.pt", targetDir.resolve("yolov8n.pt"), manifest)) extracted++;
+
+            // ONNX 엔진용 모델 (패키징되어 있을 때만)
+            if (isOnnxEngine()) {
                 try {
-                    extractResource("videos/" + videoFile, tempDir.resolve(videoFile));
-                } catch (Exception e) {
-                    log.warn("비디오 파일 {} 추출 실패: {}", videoFile, e.getMessage());
+                    if (extractResource("python/yolov8n.onnx", targetDir.resolve("yolov8n.onnx"), manifest)) extracted++;
+                } catch (IOException e) {
+                    log.warn("⚠️ yolov8n.onnx 리소스가 없습니다. ai.model.onnx.model-path 경로의 모델을 사용합니다.");
                 }
             }
+            
+            // 해변 동영상은 JAR가 아니라 동영상 저장소에서 연결
+            extracted += linkVideos(targetDir);
 
-            return tempDir;
+            saveManifest(targetDir, manifest);
+            log.info("✅ AI 리소스 준비 완료 (새로 추출: {}개, 캐시 재사용: {}개)", extracted, manifest.size() - extracted);
+            return targetDir;
             
         } catch (Exception e) {
             log.error("JAR 리소스 추출 중 오류 발생", e);
@@ -184,21 +651,118 @@ public class AIModelService {
         }
     }
 
-    private void extractResource(String resourcePath, Path targetPath) throws IOException {
-        try (InputStream inputStream = new ClassPathResource(resourcePath).getInputStream()) {
-            Files.copy(inputStream, targetPath, StandardCopyOption.REPLACE_EXISTING);
+    /**
+     * 동영상 카탈로그의 동영상(카탈로그가 비어 있으면 저장소의 모든 동영상)을 작업 디렉토리에 하드 링크로 연결합니다.
+     * 하드 링크를 만들 수 없는 파일 시스템이면 복사합니다. (http 모드 스크립트와 기본 해변 목록이 작업 디렉토리의 동영상을 사용)
+     *
+     * @return 새로 연결한 파일 수
+     */
+    private int linkVideos(Path targetDir) {
+        List<VideoStorageService.VideoFile> videos;
+        try {
+            videos = videoCatalogService.getCatalog().files();
+        } catch (Exception e) {
+            log.warn("⚠️ 동영상 목록 조회 실패, 저장소 전체 사용: {}", e.getMessage());
+            videos = List.of();
+        }
+        if (videos.isEmpty()) {
+            videos = videoStorageService.list();
+        }
+        int linked = 0;
+        for (VideoStorageService.VideoFile video : videos) {
+            Path target = targetDir.resolve(video.path().getFileName().toString());
+            try {
+                if (Files.exists(target) && Files.size(target) == video.size()
+                        && Files.getLastModifiedTime(target).toMillis() == video.lastModified()) {
+                    continue;
+                }
+                Files.deleteIfExists(target);
+                try {
+                    Files.createLink(target, video.path());
+                } catch (IOException | UnsupportedOperationException e) {
+                    Files.copy(video.path(), target, StandardCopyOption.COPY_ATTRIBUTES);
+                }
+                linked++;
+            } catch (IOException e) {
+                log.warn("비디오 파일 {} 연결 실패: {}", target.getFileName(), e.getMessage());
+            }
+        }
+        return linked;
+    }
+
+    /**
+     * 리소스를 대상 경로에 추출합니다. 캐시된 파일의 내용 해시가 같으면 건너뜁니다.
+     * manifest 항목 형식: {@code sha256:크기:수정시각}
+     *
+     * @return 실제로 파일을 새로 썼으면 true
+     */
+    private boolean extractResource(String resourcePath, Path targetPath, Properties manifest) throws IOException {
+        ClassPathResource resource = new ClassPathResource(resourcePath);
+        try {
+            long size = resource.contentLength();
+            long modified = resource.lastModified();
+            String[] cached = manifest.getProperty(resourcePath, "").split(":");
+            boolean targetIntact = Files.exists(targetPath) && Files.size(targetPath) == size;
+
+            // JAR 엔트리의 크기/시각이 그대로면 해시 계산 없이 재사용
+            if (targetIntact && cached.length == 3
+                    && cached[1].equals(String.valueOf(size)) && cached[2].equals(String.valueOf(modified))) {
+                return false;
+            }
+
+            // 임시 파일에 복사하면서 해시를 계산하고, 내용이 바뀐 경우에만 교체
+            Path partFile = Files.createTempFile(targetPath.getParent(), targetPath.getFileName().toString(), ".part");
+            String hash;
+            try (InputStream inputStream = resource.getInputStream();
+                 OutputStream outputStream = Files.newOutputStream(partFile)) {
+                hash = ContentHash.copy(inputStream, outputStream);
+            }
+            manifest.setProperty(resourcePath, hash + ":" + size + ":" + modified);
+
+            if (targetIntact && cached[0].equals(hash)) {
+                Files.deleteIfExists(partFile);
+                return false;
+            }
+            Files.move(partFile, targetPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
             log.debug("✅ 리소스 추출 완료: {} -> {}", resourcePath, targetPath);
+            return true;
         } catch (IOException e) {
             log.warn("⚠️ 리소스 추출 실패: {} - {}", resourcePath, e.getMessage());
             throw e;
         }
     }
 
-    private void cleanupTempDirectory() {
-        if (tempWorkingDir != null && Files.exists(tempWorkingDir)) {
+    private Properties loadManifest(Path dir) {
+        Properties manifest = new Properties();
+        Path file = dir.resolve(MANIFEST_FILE);
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                manifest.load(in);
+            } catch (IOException e) {
+                log.warn("⚠️ 리소스 manifest 읽기 실패, 전체 재추출: {}", e.getMessage());
+                manifest.clear();
+            }
+        }
+        return manifest;
+    }
+
+    private void saveManifest(Path dir, Properties manifest) {
+        try (OutputStream out = Files.newOutputStream(dir.resolve(MANIFEST_FILE))) {
+            manifest.store(out, "AI resource content hashes");
+        } catch (IOException e) {
+            log.warn("⚠️ 리소스 manifest 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    private void cleanupTempDirectory(Path dir) {
+        // 영구 캐시 디렉토리는 다음 시작 때 재사용하므로 삭제하지 않음
+        if (persistentWorkingDir) {
+            return;
+        }
+        if (dir != null && Files.exists(dir)) {
             try {
                 // 임시 디렉토리 내 모든 파일 삭제
-                Files.walk(tempWorkingDir)
+                Files.walk(dir)
                     .sorted((a, b) -> b.compareTo(a)) // 역순으로 정렬 (파일 먼저, 디렉토리 나중에)
                     .forEach(path -> {
                         try {
@@ -207,7 +771,7 @@ public class AIModelService {
                             log.warn("임시 파일 삭제 실패: {}", path);
                         }
                     });
-                log.info("✅ 임시 디렉토리 정리 완료: {}", tempWorkingDir);
+                log.info("✅ 임시 디렉토리 정리 완료: {}", dir);
             } catch (IOException e) {
                 log.warn("⚠️ 임시 디렉토리 정리 중 오류: {}", e.getMessage());
             }
@@ -227,6 +791,15 @@ public class AIModelService {
             }
             
             log.info("📋 requirements.txt 사용");
+
+            // requirements 내용과 인터프리터가 지난 설치 때와 같으면 pip 생략
+            Path stampFile = workingPath.resolve(PIP_STAMP_FILE);
+            String interpreter = describeInterpreter();
+            String fingerprint = interpreter == null ? null : ContentHash.of(requirementsFile) + "\n" + interpreter;
+            if (fingerprint != null && Files.exists(stampFile) && fingerprint.equals(Files.readString(stampFile))) {
+                log.info("✅ requirements.txt와 Python 인터프리터 변경 없음 - 패키지 설치 생략");
+                return;
+            }
             
             // 가상환경의 pip 사용
             String pipPath = pythonPath.replace("python3", "pip3");
@@ -240,12 +813,18 @@ public class AIModelService {
                     pipPath, "install", "-r", "requirements.txt"
                 );
                 pipBuilder.directory(workingPath.toFile());
+                // 출력 버퍼가 차서 pip가 멈추지 않도록 로그 파일로 기록
+                pipBuilder.redirectErrorStream(true);
+                pipBuilder.redirectOutput(workingPath.resolve("pip-install.log").toFile());
                 
                 Process pipProcess = pipBuilder.start();
                 boolean completed = pipProcess.waitFor(3, java.util.concurrent.TimeUnit.MINUTES);
                 
                 if (completed && pipProcess.exitValue() == 0) {
                     log.info("✅ Python 패키지 설치가 완료되었습니다.");
+                    if (fingerprint != null) {
+                        Files.writeString(stampFile, fingerprint);
+                    }
                 } else {
                     log.warn("⚠️ Python 패키지 설치 중 일부 오류가 발생했습니다. (종료 코드: {})", 
                         completed ? pipProcess.exitValue() : "타임아웃");
@@ -260,6 +839,24 @@ public class AIModelService {
         }
     }
     
+    // 인터프리터 실행 파일 경로와 버전 (pip 설치 캐시 키)
+    private String describeInterpreter() {
+        try {
+            Process process = new ProcessBuilder(pythonPath, "-c", "import sys; print(sys.executable); print(sys.version)")
+                    .redirectErrorStream(true)
+                    .start();
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            if (process.waitFor(10, TimeUnit.SECONDS) && process.exitValue() == 0) {
+                return output;
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ Python 인터프리터 확인 실패: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
     private void installBasicPackage(String packageName) {
         try {
             ProcessBuilder pipBuilder = new ProcessBuilder();
@@ -292,41 +889,76 @@ public class AIModelService {
     }
 
     public void startAIModelManually() {
-        if (aiModelProcess != null && aiModelProcess.isAlive()) {
+        if (isAIModelRunning()) {
             log.warn("⚠️ AI 모델이 이미 실행 중입니다.");
             return;
         }
         
         log.info("🚀 AI 모델 수동 시작 요청...");
+        cancelPendingRestart();
+        consecutiveFailures = 0;
+        supervising = supervisorEnabled;
         
         // 비동기로 AI 모델 실행
-        CompletableFuture.runAsync(() -> {
-            try {
-                startAIModelProcess();
-            } catch (Exception e) {
-                log.error("AI 모델 수동 실행 중 오류 발생", e);
-            }
+        supervisor.execute(this::launch);
+    }
+
+    /**
+     * 실행 중인 프로세스를 중지하고 다시 시작합니다. 요청 스레드를 막지 않도록 감시 스레드(ai-supervisor)에서 수행합니다.
+     */
+    public void restartAIModel() {
+        log.info("🔁 AI 모델 재시작 요청...");
+        cancelPendingRestart();
+        consecutiveFailures = 0;
+        supervising = supervisorEnabled;
+        supervisor.execute(() -> {
+            terminateProcess();
+            restartCount.incrementAndGet();
+            launch();
         });
     }
 
     public void stopAIModel() {
-        if (aiModelProcess != null && aiModelProcess.isAlive()) {
+        supervising = false;
+        cancelPendingRestart();
+        terminateProcess();
+    }
+
+    private void terminateProcess() {
+        synchronized (lifecycleLock) {
+            // 이전 프로세스의 종료 감시가 자동 재시작하지 않도록 세대 변경
+            processGeneration.incrementAndGet();
+            AIWorkerPool currentPool = pool;
+            if (currentPool != null) {
+                log.info("🛑 AI 워커 풀 종료 중...");
+                stopAnalysisScheduler();
+                pool = null;
+                restartCount.addAndGet(currentPool.getRespawnCount());
+                currentPool.close();
+                log.info("✅ AI 워커 풀이 종료되었습니다.");
+                cleanupTempDirectory(tempWorkingDir);
+                return;
+            }
+            Process process = aiModelProcess;
+            if (process == null || !process.isAlive()) {
+                return;
+            }
             log.info("🛑 AI 모델 프로세스 종료 중...");
             
             try {
                 // 프로세스 종료
-                aiModelProcess.destroy();
+                process.destroy();
                 
                 // 5초 대기 후 강제 종료
-                if (!aiModelProcess.waitFor(5, java.util.concurrent.TimeUnit.SECONDS)) {
+                if (!process.waitFor(5, TimeUnit.SECONDS)) {
                     log.warn("⚠️ AI 모델 프로세스 강제 종료 중...");
-                    aiModelProcess.destroyForcibly();
+                    process.destroyForcibly();
                 }
                 
                 log.info("✅ AI 모델 프로세스가 종료되었습니다.");
                 
                 // 임시 디렉토리 정리
-                cleanupTempDirectory();
+                cleanupTempDirectory(tempWorkingDir);
                 
             } catch (InterruptedException e) {
                 log.warn("AI 모델 프로세스 종료 대기 중 중단됨");
@@ -335,15 +967,34 @@ public class AIModelService {
         }
     }
 
+    // 애플리케이션 종료 시 자식 프로세스를 정리
+    @PreDestroy
+    void shutdown() {
+        stopAIModel();
+        supervisor.shutdownNow();
+        resultWriter.shutdown();
+    }
+
     public boolean isAIModelRunning() {
+        AIWorkerPool currentPool = pool;
+        if (currentPool != null) {
+            return currentPool.isRunning();
+        }
         return aiModelProcess != null && aiModelProcess.isAlive();
     }
 
     public String getAIModelStatus() {
-        if (aiModelProcess == null) {
-            return "NOT_STARTED";
-        } else if (aiModelProcess.isAlive()) {
+        AIWorkerPool currentPool = pool;
+        if (currentPool != null) {
+            // 살아 있는 워커가 없으면 슬롯들이 교체 중
+            return currentPool.isRunning() ? "RUNNING" : "RESTARTING";
+        }
+        if (aiModelProcess != null && aiModelProcess.isAlive()) {
             return "RUNNING";
+        } else if (supervising && pendingRestart != null && !pendingRestart.isDone()) {
+            return "RESTARTING";
+        } else if (startTime == 0) {
+            return "NOT_STARTED";
         } else {
             return "STOPPED";
         }
@@ -356,11 +1007,69 @@ public class AIModelService {
         return System.currentTimeMillis() - startTime;
     }
     
-    public int getAnalysisCount() {
-        return analysisCount;
+    // 현재 프로세스의 연속 실행 시간 (실행 중이 아니면 0)
+    public long getUptime() {
+        return isAIModelRunning() ? System.currentTimeMillis() - startTime : 0;
     }
-    
-    public void incrementAnalysisCount() {
-        analysisCount++;
+
+    public int getRestartCount() {
+        AIWorkerPool currentPool = pool;
+        return restartCount.get() + (currentPool != null ? currentPool.getRespawnCount() : 0);
+    }
+
+    // stdio 워커 풀 상태 (http 모드이거나 중지 상태면 null)
+    public Map<String, Object> getWorkerPoolStats() {
+        AIWorkerPool currentPool = pool;
+        return currentPool != null ? currentPool.getStats() : null;
+    }
+
+    // 해변별 분석 간격과 그 이유, CPU 예산 대비 예상 부하 (stdio 모드에서만)
+    public Map<String, Object> getScheduleStats() {
+        return pool != null ? scheduleService.getStats() : null;
+    }
+
+    // 해변(source)별 마지막 분석 시각/소요 시간/대기 시간
+    public Map<String, AIWorkerPool.BeachFreshness> getBeachFreshness() {
+        AIWorkerPool currentPool = pool;
+        return currentPool != null ? currentPool.getFreshness() : Map.of();
+    }
+
+    // 마지막 탐지 데이터 이후 경과 시간 (아직 없으면 null)
+    public Long getLastHeartbeatAge() {
+        long last = Math.max(lastHeartbeat, ingestService.getLastAcceptedAt());
+        return last == 0 ? null : System.currentTimeMillis() - last;
+    }
+
+    public boolean isSupervising() {
+        return supervising;
+    }
+
+    public long getAnalysisCount() {
+        return metrics.getAnalysisCount();
+    }
+
+    // 해변별 추론 시간/프레임 수/FPS/큐 대기/커밋 지연 요약
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> stats = metrics.getStats();
+        stats.put("resultCache", resultCache.getStats());
+        return stats;
+    }
+
+    // 실제 적용 중인 실행 설정
+    public Map<String, Object> getModelInfo() {
+        Map<String, Object> info = new HashMap<>();
+        Path dir = tempWorkingDir;
+        info.put("pythonPath", pythonPath);
+        info.put("workingDir", dir != null ? dir.toAbsolutePath().toString() : workingDir);
+        info.put("scriptPath", scriptPath);
+        info.put("analysisInterval", analysisIntervalSeconds);
+        info.put("enabled", aiModelEnabled);
+        boolean pooled = isOnnxEngine() || isStdioTransport();
+        info.put("engine", isOnnxEngine() ? "onnx" : "python");
+        info.put("transport", isOnnxEngine() ? "in-process" : isStdioTransport() ? "stdio" : "http");
+        info.put("workers", pooled ? workerCount : 1);
+        info.put("schedulingPolicy", pooled ? scheduleService.getPolicyName() : null);
+        info.put("supervisorEnabled", supervisorEnabled);
+        return info;
     }
 }
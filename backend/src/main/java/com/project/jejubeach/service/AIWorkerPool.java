@@ -0,0 +1,347 @@
+package com.project.jejubeach.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 해변 분석 워커 풀 (stdio 모드 Python 프로세스 또는 JVM 내장 ONNX 워커).
+ * 한 주기의 해변 분석 작업을 워커별 작업 큐에 라운드로빈으로 나누고,
+ * 자기 큐가 빈 워커는 가장 밀린 워커의 큐 뒤쪽에서 작업을 가져옵니다(work stealing).
+ * 각 슬롯은 자기 워커가 죽으면 백오프 후 새 워커로 교체합니다.
+ */
+@Slf4j
+public class AIWorkerPool implements AutoCloseable {
+
+    // 슬롯 이름(ai-worker-N)을 받아 새 워커를 띄움 (로그 수집 시 워커 구분용)
+    @FunctionalInterface
+    public interface WorkerFactory {
+        AnalysisWorker start(String workerName) throws IOException;
+    }
+
+    public record BeachFreshness(String name, String source, long analyzedAt, long elapsedMs,
+                                 long queueWaitMs, String worker, boolean stolen) {}
+
+    private record Task(AIWorkerProcess.BeachTarget target, long enqueuedAt,
+                        CompletableFuture<AIWorkerProcess.AnalysisResult> result) {}
+
+    private final WorkerFactory workerFactory;
+    private final long readyTimeoutMs;
+    private final long taskTimeoutMs;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final List<Slot> slots = new ArrayList<>();
+    private final Object signal = new Object();
+    private final AtomicLong cycleCounter = new AtomicLong();
+    private final AtomicInteger respawnCount = new AtomicInteger();
+    private final AtomicLong stolenCount = new AtomicLong();
+    private final Map<String, BeachFreshness> freshness = new ConcurrentHashMap<>();
+    private final long startedAt = System.currentTimeMillis();
+    private volatile long lastResultAt;
+    private volatile List<AIWorkerProcess.BeachTarget> defaultTargets = List.of();
+    private volatile boolean running = true;
+
+    public AIWorkerPool(int size, WorkerFactory workerFactory,
+                        long readyTimeoutMs, long taskTimeoutMs, long initialBackoffMs, long maxBackoffMs) {
+        this.workerFactory = workerFactory;
+        this.readyTimeoutMs = readyTimeoutMs;
+        this.taskTimeoutMs = taskTimeoutMs;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        for (int i = 0; i < Math.max(1, size); i++) {
+            Slot slot = new Slot(i);
+            slots.add(slot);
+            slot.thread.start();
+        }
+    }
+
+    /**
+     * 한 주기의 분석 작업을 워커들에 나눠 넣습니다.
+     * 시작 워커를 주기마다 바꿔서 특정 워커에 첫 작업이 몰리지 않게 합니다.
+     */
+    public List<CompletableFuture<AIWorkerProcess.AnalysisResult>> submit(List<AIWorkerProcess.BeachTarget> targets) {
+        int offset = (int) (cycleCounter.getAndIncrement() % slots.size());
+        long now = System.currentTimeMillis();
+        List<CompletableFuture<AIWorkerProcess.AnalysisResult>> futures = new ArrayList<>(targets.size());
+        for (int i = 0; i < targets.size(); i++) {
+            Task task = new Task(targets.get(i), now, new CompletableFuture<>());
+            slots.get((offset + i) % slots.size()).queue.offerLast(task);
+            futures.add(task.result());
+        }
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+        return futures;
+    }
+
+    // 워커가 ready 프레임으로 알려준 기본 해변 목록 (DB에 분석 대상이 없을 때 사용)
+    public List<AIWorkerProcess.BeachTarget> getDefaultTargets() {
+        return defaultTargets;
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    public int aliveCount() {
+        return (int) slots.stream().filter(Slot::isAlive).count();
+    }
+
+    // ready 프레임을 보낸 (분석 가능한) 워커 수
+    public int readyCount() {
+        return (int) slots.stream().filter(slot -> slot.ready && slot.isAlive()).count();
+    }
+
+    public boolean isRunning() {
+        return running && aliveCount() > 0;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * 워커가 마지막으로 진행한 시각 (heartbeat 판단용).
+     * 처리할 작업이 없으면 현재 시각을, 있으면 마지막 결과 시각과 가장 오래 기다린 작업의 등록 시각 중 늦은 쪽을 반환합니다.
+     */
+    public long getLastProgressAt() {
+        long oldestPending = Long.MAX_VALUE;
+        for (Slot slot : slots) {
+            Task current = slot.current;
+            if (current != null) {
+                oldestPending = Math.min(oldestPending, current.enqueuedAt());
+            }
+            Task head = slot.queue.peekFirst();
+            if (head != null) {
+                oldestPending = Math.min(oldestPending, head.enqueuedAt());
+            }
+        }
+        if (oldestPending == Long.MAX_VALUE) {
+            return System.currentTimeMillis();
+        }
+        return Math.max(lastResultAt, oldestPending);
+    }
+
+    public int getRespawnCount() {
+        return respawnCount.get();
+    }
+
+    public Map<String, BeachFreshness> getFreshness() {
+        return Map.copyOf(freshness);
+    }
+
+    public List<Map<String, Object>> getWorkerStats() {
+        List<Map<String, Object>> stats = new ArrayList<>();
+        for (Slot slot : slots) {
+            Map<String, Object> s = new LinkedHashMap<>();
+            s.put("name", slot.name);
+            s.put("alive", slot.isAlive());
+            AnalysisWorker w = slot.worker;
+            s.put("pid", w != null ? w.pid() : null);
+            s.put("queued", slot.queue.size());
+            s.put("completed", slot.completed.get());
+            s.put("stolen", slot.stolen.get());
+            s.put("failed", slot.failed.get());
+            s.put("respawns", slot.respawns.get());
+            stats.add(s);
+        }
+        return stats;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("size", slots.size());
+        stats.put("alive", aliveCount());
+        stats.put("ready", readyCount());
+        stats.put("respawns", respawnCount.get());
+        stats.put("stolen", stolenCount.get());
+        stats.put("workers", getWorkerStats());
+        return stats;
+    }
+
+    // 모든 워커를 강제 종료 (각 슬롯이 새 워커로 교체)
+    public void recycleAll() {
+        for (Slot slot : slots) {
+            AnalysisWorker w = slot.worker;
+            if (w != null) {
+                w.kill();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+        for (Slot slot : slots) {
+            slot.thread.interrupt();
+        }
+        for (Slot slot : slots) {
+            AnalysisWorker w = slot.worker;
+            if (w != null) {
+                w.close();
+            }
+            Task task;
+            while ((task = slot.queue.pollFirst()) != null) {
+                task.result().cancel(false);
+            }
+        }
+    }
+
+    // 자기 큐 앞쪽에서 꺼내고, 비어 있으면 가장 밀린 다른 워커의 큐 뒤쪽에서 가져옴
+    private Task nextTask(Slot self) {
+        Task own = self.queue.pollFirst();
+        if (own != null) {
+            return own;
+        }
+        Slot victim = null;
+        for (Slot other : slots) {
+            if (other != self && other.queue.size() > 0
+                    && (victim == null || other.queue.size() > victim.queue.size())) {
+                victim = other;
+            }
+        }
+        if (victim == null) {
+            return null;
+        }
+        Task stolen = victim.queue.pollLast();
+        if (stolen != null) {
+            self.stolen.incrementAndGet();
+            stolenCount.incrementAndGet();
+            self.lastTaskStolen = true;
+        }
+        return stolen;
+    }
+
+    private final class Slot {
+        private final String name;
+        private final LinkedBlockingDeque<Task> queue = new LinkedBlockingDeque<>();
+        private final Thread thread;
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong stolen = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicInteger respawns = new AtomicInteger();
+        private volatile AnalysisWorker worker;
+        private volatile boolean ready;
+        private volatile Task current;
+        private boolean lastTaskStolen;
+        private int consecutiveFailures;
+
+        private Slot(int index) {
+            this.name = "ai-worker-" + index;
+            this.thread = new Thread(this::run, name + "-dispatcher");
+            this.thread.setDaemon(true);
+        }
+
+        private boolean isAlive() {
+            AnalysisWorker w = worker;
+            return w != null && w.isAlive();
+        }
+
+        private void run() {
+            while (running) {
+                try {
+                    if (!isAlive() && !spawn()) {
+                        continue;
+                    }
+                    lastTaskStolen = false;
+                    Task task = nextTask(this);
+                    if (task == null) {
+                        synchronized (signal) {
+                            signal.wait(1000);
+                        }
+                        continue;
+                    }
+                    execute(task);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        private boolean spawn() throws InterruptedException {
+            // 죽은 워커의 교체 또는 시작 실패 후 재시도는 연속 실패 횟수에 따라 백오프
+            if (worker != null || consecutiveFailures > 0) {
+                if (worker != null) {
+                    respawns.incrementAndGet();
+                    respawnCount.incrementAndGet();
+                    log.warn("⚠️ {} 종료됨 - 새 워커로 교체합니다.", name);
+                }
+                long base = Math.min(maxBackoffMs, initialBackoffMs << Math.min(consecutiveFailures, 20));
+                Thread.sleep(base / 2 + ThreadLocalRandom.current().nextLong(base / 2 + 1));
+                consecutiveFailures++;
+            }
+            ready = false;
+            try {
+                AnalysisWorker next = workerFactory.start(name);
+                worker = next;
+                List<AIWorkerProcess.BeachTarget> targets = next.awaitReady(readyTimeoutMs, TimeUnit.MILLISECONDS);
+                if (defaultTargets.isEmpty()) {
+                    defaultTargets = List.copyOf(targets);
+                }
+                ready = true;
+                log.info("✅ {} 준비 완료 (PID: {})", name, next.pid());
+                return true;
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                log.error("❌ {} 시작 실패: {}", name, e.getMessage());
+                consecutiveFailures = Math.max(consecutiveFailures, 1);
+                AnalysisWorker failedWorker = worker;
+                if (failedWorker != null) {
+                    failedWorker.kill();
+                }
+                return false;
+            }
+        }
+
+        private void execute(Task task) throws InterruptedException {
+            // 주기 마감으로 이미 취소된 작업은 건너뜀
+            if (task.result().isDone()) {
+                return;
+            }
+            AnalysisWorker w = worker;
+            long started = System.currentTimeMillis();
+            boolean stolenTask = lastTaskStolen;
+            current = task;
+            try {
+                AIWorkerProcess.AnalysisResult result = w.analyze(task.target()).get(taskTimeoutMs, TimeUnit.MILLISECONDS);
+                completed.incrementAndGet();
+                consecutiveFailures = 0;
+                lastResultAt = System.currentTimeMillis();
+                freshness.put(task.target().source(), new BeachFreshness(task.target().name(), task.target().source(),
+                        System.currentTimeMillis(), result.elapsedMs(), started - task.enqueuedAt(), name, stolenTask));
+                task.result().complete(result);
+            } catch (InterruptedException e) {
+                task.result().cancel(false);
+                throw e;
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                task.result().completeExceptionally(e);
+                if (e instanceof TimeoutException) {
+                    // 응답이 없는 워커는 교체
+                    log.warn("⚠️ {} 분석 응답 시간 초과 ({}) - 워커를 교체합니다.", name, task.target().name());
+                    w.kill();
+                }
+            } finally {
+                current = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.project.jejubeach.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * stdio 모드로 실행된 Python 탐지 워커 한 개.
+ * 명령과 결과는 모두 4바이트 big-endian 길이 + UTF-8 JSON 프레임으로 주고받습니다.
+ * 워커의 일반 로그는 stderr로만 나오므로 stdout은 프레임 전용입니다.
+ */
+@Slf4j
+public class AIWorkerProcess implements AnalysisWorker {
+
+    private static final int MAX_FRAME_BYTES = 16 * 1024 * 1024;
+
+    public record BeachTarget(String name, String source, String videoPath) {}
+
+    // elapsedMs: 명령 처리 전체 시간, inferenceMs: 그중 탐지+추적에 쓴 시간
+    public record AnalysisResult(String source, int personCount, int fallenCount, long elapsedMs,
+                                 int framesProcessed, long inferenceMs) {}
+
+    private final String name;
+    private final Process process;
+    private final ObjectMapper objectMapper;
+    private final DataOutputStream out;
+    private final DataInputStream in;
+    private final Map<Long, CompletableFuture<JsonNode>> pending = new ConcurrentHashMap<>();
+    private final CompletableFuture<JsonNode> ready = new CompletableFuture<>();
+    private final AtomicLong nextId = new AtomicLong();
+    private final Thread reader;
+    private volatile boolean disconnected;
+
+    public AIWorkerProcess(String name, Process process, ObjectMapper objectMapper) {
+        this.name = name;
+        this.process = process;
+        this.objectMapper = objectMapper;
+        this.out = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+        this.in = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+        this.reader = new Thread(this::readLoop, name + "-reader");
+        this.reader.setDaemon(true);
+        this.reader.start();
+    }
+
+    /**
+     * 워커가 모델을 로딩하고 ready 프레임을 보낼 때까지 대기합니다.
+     * 워커가 기본으로 알고 있는 해변 목록을 반환합니다.
+     */
+    @Override
+    public List<BeachTarget> awaitReady(long timeout, TimeUnit unit) throws Exception {
+        JsonNode frame = ready.get(timeout, unit);
+        if (!frame.path("initialized").asBoolean(false)) {
+            throw new IllegalStateException("워커 모델 초기화 실패");
+        }
+        List<BeachTarget> beaches = new ArrayList<>();
+        for (JsonNode b : frame.path("beaches")) {
+            beaches.add(new BeachTarget(b.path("name").asText(), b.path("source").asText(), b.path("videoPath").asText()));
+        }
+        return beaches;
+    }
+
+    @Override
+    public CompletableFuture<AnalysisResult> analyze(BeachTarget target) {
+        ObjectNode command = objectMapper.createObjectNode()
+                .put("type", "analyze")
+                .put("name", target.name())
+                .put("source", target.source());
+        if (target.videoPath() != null && !target.videoPath().isBlank()) {
+            command.put("videoPath", target.videoPath());
+        }
+        return request(command).thenApply(frame -> new AnalysisResult(
+                frame.path("source").asText(target.source()),
+                frame.path("personCount").asInt(),
+                frame.path("fallenCount").asInt(),
+                frame.path("elapsedMs").asLong(),
+                frame.path("framesProcessed").asInt(),
+                frame.path("inferenceMs").asLong()));
+    }
+
+    public CompletableFuture<JsonNode> ping() {
+        return request(objectMapper.createObjectNode().put("type", "ping"));
+    }
+
+    @Override
+    public boolean isAlive() {
+        return process.isAlive();
+    }
+
+    @Override
+    public Long pid() {
+        return process.pid();
+    }
+
+    @Override
+    public void kill() {
+        process.destroyForcibly();
+    }
+
+    public Process getProcess() {
+        return process;
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private CompletableFuture<JsonNode> request(ObjectNode command) {
+        long id = nextId.incrementAndGet();
+        command.put("id", id);
+        CompletableFuture<JsonNode> future = new CompletableFuture<>();
+        pending.put(id, future);
+        // 이미 연결이 끊긴 워커에 보낸 요청은 응답을 기다리지 않고 바로 실패 처리
+        if (disconnected) {
+            pending.remove(id);
+            future.completeExceptionally(new IOException(name + " 워커 연결 종료"));
+            return future;
+        }
+        try {
+            send(command);
+        } catch (IOException e) {
+            pending.remove(id);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private void send(JsonNode message) throws IOException {
+        byte[] data = objectMapper.writeValueAsBytes(message);
+        synchronized (out) {
+            out.writeInt(data.length);
+            out.write(data);
+            out.flush();
+        }
+    }
+
+    private void readLoop() {
+        try {
+            while (true) {
+                int length = in.readInt();
+                if (length < 0 || length > MAX_FRAME_BYTES) {
+                    throw new IOException("잘못된 프레임 길이: " + length);
+                }
+                byte[] data = new byte[length];
+                in.readFully(data);
+                dispatch(objectMapper.readTree(data));
+            }
+        } catch (EOFException e) {
+            log.debug("{} stdout 종료", name);
+        } catch (IOException e) {
+            if (process.isAlive()) {
+                log.warn("⚠️ {} 프레임 읽기 실패: {}", name, e.getMessage());
+            }
+        } finally {
+            disconnected = true;
+            failPending(new IOException(name + " 워커 연결 종료"));
+        }
+    }
+
+    private void dispatch(JsonNode frame) {
+        String type = frame.path("type").asText();
+        if ("ready".equals(type)) {
+            ready.complete(frame);
+            return;
+        }
+        CompletableFuture<JsonNode> future = pending.remove(frame.path("id").asLong());
+        if (future == null) {
+            log.debug("{} 응답 대상 없음: {}", name, frame);
+            return;
+        }
+        if ("error".equals(type)) {
+            future.completeExceptionally(new IllegalStateException(frame.path("message").asText("워커 오류")));
+        } else {
+            future.complete(frame);
+        }
+    }
+
+    private void failPending(Exception cause) {
+        ready.completeExceptionally(cause);
+        pending.values().forEach(f -> f.completeExceptionally(cause));
+        pending.clear();
+    }
+
+    /**
+     * shutdown 명령을 보내고 정상 종료를 기다린 뒤, 응답이 없으면 강제 종료합니다.
+     */
+    @Override
+    public void close() {
+        try {
+            send(objectMapper.createObjectNode().put("type", "shutdown"));
+            out.close();
+        } catch (IOException e) {
+            log.debug("{} shutdown 명령 전송 실패: {}", name, e.getMessage());
+        }
+        try {
+            if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                process.destroy();
+                if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                    log.warn("⚠️ {} 강제 종료 중...", name);
+                    process.destroyForcibly();
+                }
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
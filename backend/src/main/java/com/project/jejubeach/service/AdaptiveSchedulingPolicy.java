@@ -0,0 +1,79 @@
+package com.project.jejubeach.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalTime;
+
+/**
+ * 최근 변화에 맞춰 해변별 분석 간격을 조절하는 정책.
+ * 쓰러진 사람이 있으면 최소 간격, 붐비거나 인원 변동이 크면 더 자주,
+ * 계속 비어 있으면 점점 드물게 (야간에는 더 드물게) 분석합니다.
+ */
+@Component
+public class AdaptiveSchedulingPolicy implements AnalysisSchedulingPolicy {
+
+    @Value("${ai.model.analysis-interval-seconds:30}")
+    private long baseSeconds;
+
+    @Value("${ai.model.scheduling.min-interval-seconds:5}")
+    private long minSeconds;
+
+    @Value("${ai.model.scheduling.max-interval-seconds:300}")
+    private long maxSeconds;
+
+    // 이 인원 이상이면 혼잡으로 보고 더 자주 분석
+    @Value("${ai.model.scheduling.busy-person-count:20}")
+    private int busyPersonCount;
+
+    // 마지막 값이 최근 평균에서 이 비율 이상 벗어나면 변동이 큰 것으로 판단
+    @Value("${ai.model.scheduling.change-threshold:0.3}")
+    private double changeThreshold;
+
+    @Value("${ai.model.scheduling.night-start-hour:22}")
+    private int nightStartHour;
+
+    @Value("${ai.model.scheduling.night-end-hour:6}")
+    private int nightEndHour;
+
+    @Override
+    public String name() {
+        return "adaptive";
+    }
+
+    @Override
+    public ScheduleDecision decide(BeachActivity a) {
+        if (a.lastFallenCount() > 0) {
+            return decision(minSeconds, "쓰러진 사람 감지");
+        }
+        if (a.samples() < 2) {
+            return decision(baseSeconds, "기본");
+        }
+        if (a.variability() >= changeThreshold) {
+            return decision(baseSeconds / 2.0, "인원 변동");
+        }
+        if (a.lastPersonCount() >= busyPersonCount) {
+            return decision(baseSeconds / 2.0, "혼잡");
+        }
+        if (a.lastPersonCount() == 0 && a.meanPersonCount() == 0) {
+            // 계속 비어 있으면 직전 간격에서 점진적으로 늘림
+            double previous = Math.max(baseSeconds, a.lastInterval().toSeconds());
+            boolean night = isNight(a.localTime());
+            return decision(previous * (night ? 2.0 : 1.5), night ? "야간 한산" : "한산");
+        }
+        return decision(baseSeconds, "안정");
+    }
+
+    private boolean isNight(LocalTime time) {
+        int hour = time.getHour();
+        return nightStartHour > nightEndHour
+                ? hour >= nightStartHour || hour < nightEndHour
+                : hour >= nightStartHour && hour < nightEndHour;
+    }
+
+    private ScheduleDecision decision(double seconds, String reason) {
+        long clamped = Math.round(Math.min(maxSeconds, Math.max(minSeconds, seconds)));
+        return new ScheduleDecision(Duration.ofSeconds(clamped), reason);
+    }
+}
@@ -0,0 +1,148 @@
+package com.project.jejubeach.service;
+
+import com.project.jejubeach.util.ContentHash;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 정적 영상 분석 결과 캐시.
+ * 키는 (영상 내용 해시, 모델 버전/샘플링 설정)이라서 같은 파일을 같은 설정으로 다시 분석하지 않고 저장된 결과를 그대로 씁니다.
+ * 파일 내용이 바뀌거나 해변의 videoPath가 다른 파일로 바뀌면 키가 달라져 자연스럽게 다시 분석합니다.
+ */
+@Component
+@Slf4j
+public class AnalysisResultCache {
+
+    private final FileHashCache fileHashCache;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    @Value("${ai.model.result-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ai.model.result-cache.max-entries:256}")
+    private int maxEntries;
+
+    private volatile String modelVersion;
+    // LRU: 가장 오래 쓰지 않은 결과부터 제거
+    private final Map<String, AIWorkerProcess.AnalysisResult> results = new LinkedHashMap<>(16, 0.75f, true);
+    // source별 현재 키 (videoPath/파일이 바뀌면 이전 키의 결과 제거)
+    private final Map<String, String> keyBySource = new ConcurrentHashMap<>();
+
+    public AnalysisResultCache(FileHashCache fileHashCache, MeterRegistry meterRegistry) {
+        this.fileHashCache = fileHashCache;
+        this.hitCounter = meterRegistry.counter("ai.analysis.cache.hits");
+        this.missCounter = meterRegistry.counter("ai.analysis.cache.misses");
+    }
+
+    public boolean isEnabled() {
+        return enabled && modelVersion != null;
+    }
+
+    /**
+     * 엔진/모델/샘플링 설정을 나타내는 버전 문자열을 지정합니다. 값이 바뀌면 저장된 결과를 모두 버립니다.
+     */
+    public void setModelVersion(String version) {
+        String hashed = version == null ? null : ContentHash.of(version);
+        if (hashed != null && hashed.equals(modelVersion)) {
+            return;
+        }
+        synchronized (results) {
+            results.clear();
+        }
+        keyBySource.clear();
+        modelVersion = hashed;
+        if (hashed != null) {
+            log.info("✅ 분석 결과 캐시 모델 버전: {}", hashed.substring(0, 12));
+        }
+    }
+
+    public Optional<AIWorkerProcess.AnalysisResult> lookup(AIWorkerProcess.BeachTarget target) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        String key = keyOf(target);
+        if (key == null) {
+            return Optional.empty();
+        }
+        String previous = keyBySource.put(target.source(), key);
+        AIWorkerProcess.AnalysisResult cached;
+        synchronized (results) {
+            if (previous != null && !previous.equals(key)) {
+                results.remove(previous);
+                log.info("🔁 {} 영상이 바뀌어 분석 결과 캐시를 갱신합니다.", target.name());
+            }
+            cached = results.get(key);
+        }
+        if (cached == null) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+        hitCounter.increment();
+        // 같은 영상을 쓰는 다른 해변일 수 있으므로 source는 요청한 해변 기준, 재생한 결과라 처리 비용은 0
+        return Optional.of(new AIWorkerProcess.AnalysisResult(target.source(), cached.personCount(), cached.fallenCount(), 0, 0, 0));
+    }
+
+    public void store(AIWorkerProcess.BeachTarget target, AIWorkerProcess.AnalysisResult result) {
+        if (!isEnabled() || result.framesProcessed() == 0) {
+            // 영상을 못 읽은 실패성 결과는 저장하지 않음
+            return;
+        }
+        String key = keyOf(target);
+        if (key == null) {
+            return;
+        }
+        keyBySource.put(target.source(), key);
+        synchronized (results) {
+            results.put(key, result);
+            while (results.size() > maxEntries) {
+                String eldest = results.keySet().iterator().next();
+                results.remove(eldest);
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (results) {
+            results.clear();
+        }
+        keyBySource.clear();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", isEnabled());
+        stats.put("hits", (long) hitCounter.count());
+        stats.put("misses", (long) missCounter.count());
+        synchronized (results) {
+            stats.put("entries", results.size());
+        }
+        return stats;
+    }
+
+    private String keyOf(AIWorkerProcess.BeachTarget target) {
+        if (target.videoPath() == null || target.videoPath().isBlank()) {
+            return null;
+        }
+        try {
+            // 분석 스케줄러 스레드에서 호출되므로 해시가 아직 없으면 기다리지 않고 이번 주기는 캐시 없이 분석
+            return fileHashCache.hashIfReady(Path.of(target.videoPath()))
+                    .map(hash -> hash + ":" + modelVersion)
+                    .orElse(null);
+        } catch (IOException e) {
+            log.debug("영상 해시 계산 실패 ({}): {}", target.videoPath(), e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.project.jejubeach.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 해변별 분석 일정 관리.
+ * 분석 결과가 나올 때마다 선택된 {@link AnalysisSchedulingPolicy}로 다음 간격을 정하고,
+ * 전체 예상 추론 부하가 CPU 예산(워커 수 × cpu-budget)을 넘으면 급하지 않은 해변의 간격을 늘립니다.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class AnalysisScheduleService {
+
+    private static final int WINDOW_SIZE = 10;
+    // 추론 시간 지수 이동 평균 가중치
+    private static final double ELAPSED_EWMA_ALPHA = 0.3;
+
+    private final List<AnalysisSchedulingPolicy> policies;
+
+    @Value("${ai.model.scheduling.policy:adaptive}")
+    private String policyName;
+
+    @Value("${ai.model.analysis-interval-seconds:30}")
+    private long baseSeconds;
+
+    @Value("${ai.model.scheduling.max-interval-seconds:300}")
+    private long maxSeconds;
+
+    // 워커가 추론에 쓸 수 있는 시간 비율 (1.0 = 워커가 쉬지 않고 분석)
+    @Value("${ai.model.scheduling.cpu-budget:0.75}")
+    private double cpuBudget;
+
+    // 야간 판단 등에 쓰는 해변 현지 시간대
+    @Value("${ai.model.scheduling.zone:Asia/Seoul}")
+    private String zone;
+
+    private AnalysisSchedulingPolicy policy;
+    private ZoneId zoneId;
+    private volatile int workers = 1;
+    private final Map<String, BeachSchedule> schedules = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        policy = policies.stream()
+                .filter(p -> p.name().equalsIgnoreCase(policyName))
+                .findFirst()
+                .orElseGet(() -> {
+                    log.warn("⚠️ 알 수 없는 분석 일정 정책 '{}' - adaptive 사용", policyName);
+                    return policies.stream().filter(p -> "adaptive".equals(p.name())).findFirst().orElseThrow();
+                });
+        zoneId = ZoneId.of(zone);
+        log.info("✅ 분석 일정 정책: {} (기본 간격 {}초, CPU 예산 {})", policy.name(), baseSeconds, cpuBudget);
+    }
+
+    // 워커 풀이 새로 시작되면 일정 초기화
+    public void reset(int workerCount) {
+        workers = Math.max(1, workerCount);
+        schedules.clear();
+    }
+
+    /**
+     * 분석할 차례가 된 해변을 고르고 진행 중으로 표시합니다. (진행 중인 해변은 다시 고르지 않음)
+     */
+    public List<AIWorkerProcess.BeachTarget> takeDue(List<AIWorkerProcess.BeachTarget> targets, long now) {
+        // 분석 대상에서 빠진 해변의 일정은 정리 (예상 부하 계산에서 제외)
+        schedules.keySet().retainAll(targets.stream().map(AIWorkerProcess.BeachTarget::source).toList());
+
+        List<AIWorkerProcess.BeachTarget> due = new ArrayList<>();
+        for (AIWorkerProcess.BeachTarget target : targets) {
+            BeachSchedule s = schedules.computeIfAbsent(target.source(), k -> new BeachSchedule(target.name()));
+            synchronized (s) {
+                if (!s.inFlight && s.nextDueAt <= now) {
+                    s.inFlight = true;
+                    due.add(target);
+                }
+            }
+        }
+        return due;
+    }
+
+    public void onResult(AIWorkerProcess.AnalysisResult result, long now) {
+        BeachSchedule s = schedules.get(result.source());
+        if (s == null) {
+            return;
+        }
+        synchronized (s) {
+            s.record(result);
+            AnalysisSchedulingPolicy.ScheduleDecision decision = policy.decide(s.activity(result.source(), LocalTime.now(zoneId)));
+            Duration interval = decision.interval();
+            String reason = decision.reason();
+
+            // CPU 예산 초과 시 쓰러짐이 없는 해변의 간격을 부하 비율만큼 늘림
+            double load = projectedLoad(result.source(), interval);
+            double capacity = cpuBudget * workers;
+            if (load > capacity && result.fallenCount() == 0) {
+                long stretched = Math.min(Math.max(maxSeconds, baseSeconds) * 1000,
+                        Math.round(interval.toMillis() * load / capacity));
+                if (stretched > interval.toMillis()) {
+                    interval = Duration.ofMillis(stretched);
+                    reason = reason + " (CPU 예산 초과)";
+                }
+            }
+
+            s.interval = interval;
+            s.reason = reason;
+            s.nextDueAt = now + interval.toMillis();
+            s.inFlight = false;
+        }
+    }
+
+    // 실패한 해변은 기본 간격 뒤에 다시 시도
+    public void onFailure(String source, long now) {
+        BeachSchedule s = schedules.get(source);
+        if (s == null) {
+            return;
+        }
+        synchronized (s) {
+            s.failures++;
+            s.reason = "분석 실패";
+            s.nextDueAt = now + Duration.ofSeconds(baseSeconds).toMillis();
+            s.inFlight = false;
+        }
+    }
+
+    // 현재 적용 중인 가장 짧은 분석 간격 (heartbeat 판단 기준)
+    public long getShortestIntervalMs() {
+        return schedules.values().stream()
+                .mapToLong(s -> s.interval.toMillis())
+                .min()
+                .orElse(Duration.ofSeconds(baseSeconds).toMillis());
+    }
+
+    public String getPolicyName() {
+        return policy.name();
+    }
+
+    public Map<String, Object> getStats() {
+        long now = System.currentTimeMillis();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("policy", policy.name());
+        stats.put("baseIntervalSeconds", baseSeconds);
+        stats.put("cpuBudget", cpuBudget);
+        stats.put("workers", workers);
+        stats.put("projectedLoad", projectedLoad(null, null));
+
+        Map<String, Object> beaches = new LinkedHashMap<>();
+        schedules.forEach((source, s) -> {
+            synchronized (s) {
+                Map<String, Object> b = new LinkedHashMap<>();
+                b.put("name", s.name);
+                b.put("intervalSeconds", s.interval.toMillis() / 1000.0);
+                b.put("reason", s.reason);
+                b.put("nextDueAt", Instant.ofEpochMilli(s.nextDueAt).toString());
+                b.put("dueInSeconds", Math.max(0, s.nextDueAt - now) / 1000);
+                b.put("inFlight", s.inFlight);
+                b.put("avgInferenceMs", Math.round(s.elapsedEwmaMs));
+                b.put("lastPersonCount", s.counts.isEmpty() ? null : s.counts.peekLast());
+                b.put("lastFallenCount", s.lastFallen);
+                b.put("failures", s.failures);
+                beaches.put(source, b);
+            }
+        });
+        stats.put("beaches", beaches);
+        return stats;
+    }
+
+    // 해변별 (평균 추론 시간 / 분석 간격)의 합 = 평균적으로 바쁜 워커 수
+    private double projectedLoad(String overrideSource, Duration overrideInterval) {
+        double load = 0;
+        for (Map.Entry<String, BeachSchedule> e : schedules.entrySet()) {
+            BeachSchedule s = e.getValue();
+            Duration interval = e.getKey().equals(overrideSource) ? overrideInterval : s.interval;
+            load += s.elapsedEwmaMs / Math.max(1, interval.toMillis());
+        }
+        return load;
+    }
+
+    private final class BeachSchedule {
+        private final String name;
+        private final Deque<Integer> counts = new ArrayDeque<>();
+        private int lastFallen;
+        private double elapsedEwmaMs;
+        private Duration interval = Duration.ofSeconds(baseSeconds);
+        private String reason = "대기";
+        private long nextDueAt;
+        private boolean inFlight;
+        private long failures;
+
+        private BeachSchedule(String name) {
+            this.name = name;
+        }
+
+        private void record(AIWorkerProcess.AnalysisResult result) {
+            counts.addLast(result.personCount());
+            if (counts.size() > WINDOW_SIZE) {
+                counts.removeFirst();
+            }
+            lastFallen = result.fallenCount();
+            elapsedEwmaMs = elapsedEwmaMs == 0
+                    ? result.elapsedMs()
+                    : ELAPSED_EWMA_ALPHA * result.elapsedMs() + (1 - ELAPSED_EWMA_ALPHA) * elapsedEwmaMs;
+        }
+
+        private AnalysisSchedulingPolicy.BeachActivity activity(String source, LocalTime localTime) {
+            double mean = counts.stream().mapToInt(Integer::intValue).average().orElse(0);
+            int last = counts.isEmpty() ? 0 : counts.peekLast();
+            double variability = Math.abs(last - mean) / Math.max(1.0, mean);
+            return new AnalysisSchedulingPolicy.BeachActivity(source, last, lastFallen, mean, variability,
+                    counts.size(), interval, localTime);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.project.jejubeach.service;
+
+import java.time.Duration;
+import java.time.LocalTime;
+
+/**
+ * 해변별 다음 분석까지의 간격을 정하는 정책.
+ * 구현체는 스프링 빈으로 등록하고 {@code ai.model.scheduling.policy}에 {@link #name()}을 지정해 선택합니다.
+ */
+public interface AnalysisSchedulingPolicy {
+
+    /**
+     * 정책 결정에 쓰이는 해변의 최근 분석 상태
+     *
+     * @param lastPersonCount  마지막 분석의 사람 수
+     * @param lastFallenCount  마지막 분석의 쓰러진 사람 수
+     * @param meanPersonCount  최근 분석들의 평균 사람 수
+     * @param variability      마지막 값이 최근 평균에서 벗어난 비율 (0 = 변화 없음)
+     * @param samples          최근 분석 표본 수
+     * @param lastInterval     직전에 적용한 분석 간격
+     * @param localTime        해변 현지 시각
+     */
+    record BeachActivity(String source, int lastPersonCount, int lastFallenCount, double meanPersonCount,
+                         double variability, int samples, Duration lastInterval, LocalTime localTime) {}
+
+    record ScheduleDecision(Duration interval, String reason) {}
+
+    String name();
+
+    ScheduleDecision decide(BeachActivity activity);
+}
@@ -0,0 +1,30 @@
+package com.project.jejubeach.service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AIWorkerPool}의 한 슬롯에서 해변 분석을 수행하는 워커.
+ * Python stdio 프로세스({@link AIWorkerProcess})와 JVM 내장 ONNX 엔진({@link OnnxAnalysisWorker})이 구현합니다.
+ */
+public interface AnalysisWorker extends AutoCloseable {
+
+    /**
+     * 모델 준비가 끝날 때까지 대기하고, 워커가 기본으로 알고 있는 해변 목록을 반환합니다.
+     */
+    List<AIWorkerProcess.BeachTarget> awaitReady(long timeout, TimeUnit unit) throws Exception;
+
+    CompletableFuture<AIWorkerProcess.AnalysisResult> analyze(AIWorkerProcess.BeachTarget target);
+
+    boolean isAlive();
+
+    // 상태 표시용 프로세스 ID (JVM 내장 워커는 백엔드 자신의 PID)
+    Long pid();
+
+    // 응답이 없는 워커를 즉시 중단 (슬롯이 새 워커로 교체)
+    void kill();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,254 @@
+package com.project.jejubeach.service;
+
+import com.project.jejubeach.dto.DetectionSnapshot;
+import com.project.jejubeach.entity.Beach;
+import com.project.jejubeach.entity.BeachSourceAlias;
+import com.project.jejubeach.repository.BeachRepository;
+import com.project.jejubeach.repository.BeachSourceAliasRepository;
+import com.project.jejubeach.repository.DetectionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 탐지 source 문자열을 해변으로 해석합니다.
+ * 별칭 테이블을 메모리에 캐시하여 insert 시 한 번의 맵 조회로 beach_id를 결정합니다.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BeachAliasService {
+
+    // 기본 별칭 (해변명 키워드 -> 별칭 목록, 첫 번째가 대표 키)
+    private static final Map<String, List<String>> DEFAULT_ALIASES = new LinkedHashMap<>();
+    static {
+        DEFAULT_ALIASES.put("함덕", List.of("hamduck", "함덕"));
+        DEFAULT_ALIASES.put("이호", List.of("iho", "이호"));
+        DEFAULT_ALIASES.put("월정리", List.of("walljeonglee", "월정리"));
+    }
+
+    private final BeachSourceAliasRepository aliasRepository;
+    private final BeachRepository beachRepository;
+    private final BeachCatalogCache beachCatalogCache;
+    private final DetectionRepository detectionRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<String, Long> beachIdByAlias = new ConcurrentHashMap<>();
+    private final Map<Long, String> keyByBeachId = new ConcurrentHashMap<>();
+    // 해석에 실패한 키 (매번 DB를 조회하지 않도록 기억, 최대 MAX_UNRESOLVED개)
+    private static final int MAX_UNRESOLVED = 1000;
+    private final Set<String> unresolved = ConcurrentHashMap.newKeySet();
+
+    @Order(0)
+    @EventListener(ApplicationStartedEvent.class)
+    public void init() {
+        try {
+            if (aliasRepository.count() == 0) {
+                seedDefaults();
+            }
+            reload();
+            backfillDetections();
+        } catch (Exception e) {
+            log.warn("⚠️ 해변 별칭 초기화 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 저장할 탐지 데이터의 source에 해당하는 해변 ID를 반환합니다. 해석할 수 없으면 null.
+     * 별칭 테이블에 없으면 동영상 파일 이름으로 한 번 더 찾아보고 별칭으로 등록하므로 수집 경로에서만 사용합니다.
+     */
+    public Long resolveBeachId(String source) {
+        Long beachId = findBeachId(source);
+        if (beachId != null) {
+            return beachId;
+        }
+        String key = normalizeSourceKey(source);
+        if (key.isEmpty() || unresolved.contains(key)) {
+            return null;
+        }
+        return learn(key);
+    }
+
+    /**
+     * source(또는 해변 별칭)에 해당하는 해변 ID를 별칭 테이블에서만 찾습니다. 조회 API용이며 별칭을 등록하지 않습니다.
+     */
+    public Long findBeachId(String source) {
+        if (source == null || source.isBlank()) {
+            return null;
+        }
+        String normalized = source.trim().toLowerCase();
+        Long beachId = beachIdByAlias.get(normalized);
+        return beachId != null ? beachId : beachIdByAlias.get(normalizeSourceKey(normalized));
+    }
+
+    /**
+     * 해변 이름/별칭을 대표 키로 변환합니다. (예: "함덕" -> "hamduck")
+     */
+    public String resolveBeachKey(String beachName) {
+        Long beachId = findBeachId(beachName);
+        if (beachId != null && keyByBeachId.containsKey(beachId)) {
+            return keyByBeachId.get(beachId);
+        }
+        return normalizeSourceKey(beachName);
+    }
+
+    public String getBeachKey(Long beachId) {
+        return beachId == null ? null : keyByBeachId.get(beachId);
+    }
+
+    // 스냅샷의 해변 대표 키 (해변을 알 수 없으면 source에서 추출한 키)
+    public String beachKeyOf(DetectionSnapshot snapshot) {
+        String key = getBeachKey(snapshot.beachId());
+        return key != null ? key : normalizeSourceKey(snapshot.source());
+    }
+
+    // 해변이 추가/수정되면 이전에 실패한 source를 다시 해석할 수 있도록 초기화
+    public void clearUnresolved() {
+        unresolved.clear();
+    }
+
+    // 해변 삭제 전 별칭 정리
+    public void removeBeach(Long beachId) {
+        List<BeachSourceAlias> aliases = aliasRepository.findByBeachId(beachId);
+        aliasRepository.deleteAll(aliases);
+        aliases.forEach(a -> beachIdByAlias.remove(a.getAlias()));
+        keyByBeachId.remove(beachId);
+    }
+
+    /**
+     * source 문자열을 해변 키로 정규화합니다. (예: "hamduck_camera_01" -> "hamduck")
+     */
+    public static String normalizeSourceKey(String source) {
+        if (source == null) {
+            return "";
+        }
+        String normalized = source.trim().toLowerCase();
+        int idx = normalized.indexOf('_');
+        return idx > 0 ? normalized.substring(0, idx) : normalized;
+    }
+
+    private void reload() {
+        beachIdByAlias.clear();
+        keyByBeachId.clear();
+        for (BeachSourceAlias alias : aliasRepository.findAll()) {
+            register(alias);
+        }
+        unresolved.clear();
+        log.info("✅ 해변 별칭 {}개 로드 완료", beachIdByAlias.size());
+    }
+
+    private void register(BeachSourceAlias alias) {
+        Long beachId = alias.getBeach().getId();
+        beachIdByAlias.put(alias.getAlias(), beachId);
+        if (alias.isCanonical() || !keyByBeachId.containsKey(beachId)) {
+            keyByBeachId.put(beachId, alias.getAlias());
+        }
+    }
+
+    private void seedDefaults() {
+        List<Beach> beaches = beachRepository.findAll();
+        DEFAULT_ALIASES.forEach((keyword, aliases) -> beaches.stream()
+                .filter(b -> b.getName() != null && b.getName().contains(keyword))
+                .findFirst()
+                .ifPresent(beach -> {
+                    for (int i = 0; i < aliases.size(); i++) {
+                        aliasRepository.save(BeachSourceAlias.builder()
+                                .alias(aliases.get(i))
+                                .beach(beach)
+                                .canonical(i == 0)
+                                .build());
+                    }
+                }));
+    }
+
+    // 별칭 테이블에 없는 키는 해변 동영상 파일 이름({키}.mp4 또는 {키}_beach.mp4)과 정확히 일치할 때만 별칭으로 등록
+    private synchronized Long learn(String key) {
+        Long beachId = beachIdByAlias.get(key);
+        if (beachId != null || unresolved.contains(key)) {
+            return beachId;
+        }
+        try {
+            Optional<Beach> match = beachCatalogCache.getAll().stream()
+                    .filter(b -> matchesVideoFile(b.getVideoPath(), key))
+                    .findFirst();
+            if (match.isEmpty()) {
+                markUnresolved(key);
+                return null;
+            }
+            Beach beach = match.get();
+            BeachSourceAlias alias = saveAlias(key, beach.getId());
+            // 별도 트랜잭션이 커밋된 뒤에만 메모리에 등록 (탐지 데이터 저장이 롤백되어도 별칭은 DB와 일치)
+            register(alias);
+            log.info("✅ 새 source 별칭 등록: {} -> {}", key, beach.getName());
+            return alias.getBeach().getId();
+        } catch (Exception e) {
+            log.warn("source 별칭 해석 실패 ({}): {}", key, e.getMessage());
+            markUnresolved(key);
+            return null;
+        }
+    }
+
+    // 수집 트랜잭션과 분리해서 저장 (별칭 저장 실패가 탐지 데이터 저장을 롤백시키지 않도록)
+    private BeachSourceAlias saveAlias(String key, Long beachId) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            // 캐시의 해변은 DB에서 분리된 복사본이므로 ID로 참조만 연결
+            return tx.execute(status -> aliasRepository.save(BeachSourceAlias.builder()
+                    .alias(key)
+                    .beach(beachRepository.getReferenceById(beachId))
+                    .canonical(!keyByBeachId.containsKey(beachId))
+                    .build()));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 인스턴스가 같은 별칭을 먼저 등록한 경우
+            BeachSourceAlias existing = tx.execute(status -> aliasRepository.findByAlias(key).orElse(null));
+            if (existing == null) {
+                throw e;
+            }
+            return existing;
+        }
+    }
+
+    static boolean matchesVideoFile(String videoPath, String key) {
+        if (videoPath == null || key.isEmpty()) {
+            return false;
+        }
+        String fileName = videoPath.substring(videoPath.lastIndexOf('/') + 1).toLowerCase();
+        int dot = fileName.lastIndexOf('.');
+        String stem = dot > 0 ? fileName.substring(0, dot) : fileName;
+        return stem.equals(key) || stem.equals(key + "_beach");
+    }
+
+    // 임의의 source가 계속 들어와도 메모리가 늘어나지 않도록 가득 차면 비움
+    private void markUnresolved(String key) {
+        if (unresolved.size() >= MAX_UNRESOLVED) {
+            unresolved.clear();
+        }
+        unresolved.add(key);
+    }
+
+    // beach_id가 비어 있는 기존 탐지 데이터에 해변 연결
+    private void backfillDetections() {
+        int updated = 0;
+        for (Map.Entry<String, Long> entry : beachIdByAlias.entrySet()) {
+            updated += detectionRepository.assignBeachBySource(entry.getKey(), entry.getValue());
+        }
+        if (updated > 0) {
+            log.info("✅ 기존 탐지 데이터 {}건에 해변 연결", updated);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.project.jejubeach.service;
+
+import com.project.jejubeach.entity.Beach;
+import com.project.jejubeach.repository.BeachRepository;
+import com.project.jejubeach.util.ContentHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 해변 목록 메모리 캐시 (read-through).
+ * 전체 목록을 한 번 읽어 ID/상태/지역 인덱스를 만든 스냅샷으로 보관하고, 해변 등록/수정/삭제/상태 변경(BeachChangedEvent) 시 버립니다.
+ * 스냅샷은 통째로 교체되므로 조회 중에 일부만 바뀐 목록을 보는 일은 없습니다.
+ * 캐시된 객체는 DB에서 분리된 복사본이며 createdBy는 담지 않습니다. (권한 확인 등 수정 경로는 Repository에서 직접 조회)
+ * Beach는 수정 가능한 객체이므로 조회할 때마다 새 복사본을 반환해서 호출한 쪽이 값을 바꿔도 스냅샷에는 영향이 없습니다.
+ */
+@Component
+@Slf4j
+public class BeachCatalogCache {
+
+    private record Snapshot(long version,
+                           String etag,
+                           List<Beach> all,
+                           Map<Long, Beach> byId,
+                           Map<Beach.BeachStatus, List<Beach>> byStatus,
+                           Map<String, List<Beach>> byRegion,
+                           long loadedAt) {}
+
+    private final BeachRepository beachRepository;
+
+    // 다른 인스턴스나 DB 직접 수정을 반영하기 위한 최대 보관 시간
+    @Value("${beach.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private volatile Snapshot snapshot;
+    private final AtomicLong version = new AtomicLong();
+    // 스냅샷을 만드는 중에 해변이 바뀌면 만든 스냅샷을 저장하지 않도록 구분
+    private final AtomicLong generation = new AtomicLong();
+
+    public BeachCatalogCache(BeachRepository beachRepository) {
+        this.beachRepository = beachRepository;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null && System.currentTimeMillis() - current.loadedAt() < ttlSeconds * 1000) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current != null && System.currentTimeMillis() - current.loadedAt() < ttlSeconds * 1000) {
+                return current;
+            }
+            long startedGeneration = generation.get();
+            try {
+                Snapshot loaded = load();
+                if (startedGeneration == generation.get()) {
+                    snapshot = loaded;
+                }
+                return loaded;
+            } catch (RuntimeException e) {
+                if (current == null) {
+                    throw e;
+                }
+                log.warn("⚠️ 해변 목록 갱신 실패, 직전 목록 사용: {}", e.getMessage());
+                return current;
+            }
+        }
+    }
+
+    public List<Beach> getAll() {
+        return copiesOf(snapshot().all());
+    }
+
+    public Optional<Beach> getById(Long id) {
+        return Optional.ofNullable(snapshot().byId().get(id)).map(BeachCatalogCache::detachedCopy);
+    }
+
+    public List<Beach> getByStatus(Beach.BeachStatus status) {
+        return copiesOf(snapshot().byStatus().getOrDefault(status, List.of()));
+    }
+
+    public List<Beach> getByRegion(String region) {
+        return copiesOf(snapshot().byRegion().getOrDefault(regionKey(region), List.of()));
+    }
+
+    public List<Beach> getByIds(List<Long> ids) {
+        Map<Long, Beach> byId = snapshot().byId();
+        return copiesOf(ids.stream().map(byId::get).filter(Objects::nonNull).toList());
+    }
+
+    public List<Beach> searchByName(String name) {
+        String keyword = name.toLowerCase(Locale.ROOT);
+        return copiesOf(snapshot().all().stream()
+                .filter(b -> b.getName() != null && b.getName().toLowerCase(Locale.ROOT).contains(keyword))
+                .toList());
+    }
+
+    public String getEtag() {
+        return snapshot().etag();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeachChanged(BeachChangedEvent event) {
+        invalidate();
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Snapshot load() {
+        List<Beach> all = new ArrayList<>();
+        for (Beach beach : beachRepository.findAll()) {
+            all.add(detachedCopy(beach));
+        }
+        all.sort(Comparator.comparing(Beach::getId));
+
+        Map<Long, Beach> byId = new LinkedHashMap<>();
+        Map<Beach.BeachStatus, List<Beach>> byStatus = new EnumMap<>(Beach.BeachStatus.class);
+        Map<String, List<Beach>> byRegion = new HashMap<>();
+        StringBuilder signature = new StringBuilder();
+        for (Beach beach : all) {
+            byId.put(beach.getId(), beach);
+            byStatus.computeIfAbsent(beach.getStatus(), s -> new ArrayList<>()).add(beach);
+            if (beach.getRegion() != null) {
+                byRegion.computeIfAbsent(regionKey(beach.getRegion()), r -> new ArrayList<>()).add(beach);
+            }
+            // DATETIME은 초 단위라 같은 초에 두 번 수정될 수 있으므로 응답에 들어가는 값 전체로 계산
+            signature.append(beach.getId()).append('|').append(beach.getName()).append('|')
+                    .append(beach.getRegion()).append('|').append(beach.getLatitude()).append('|')
+                    .append(beach.getLongitude()).append('|').append(beach.getDescription()).append('|')
+                    .append(beach.getVideoPath()).append('|').append(beach.getStatus()).append('|')
+                    .append(beach.getUpdatedAt()).append('\n');
+        }
+        byStatus.replaceAll((s, list) -> List.copyOf(list));
+        byRegion.replaceAll((r, list) -> List.copyOf(list));
+
+        long loadedVersion = version.incrementAndGet();
+        // 내용 기반이라 재시작하거나 여러 인스턴스여도 같은 목록이면 같은 ETag
+        String etag = "\"" + ContentHash.of(signature.toString()).substring(0, 32) + "\"";
+        log.debug("해변 목록 캐시 갱신: {}개 (version {})", all.size(), loadedVersion);
+        return new Snapshot(loadedVersion, etag, List.copyOf(all), Collections.unmodifiableMap(byId),
+                Collections.unmodifiableMap(byStatus), Collections.unmodifiableMap(byRegion),
+                System.currentTimeMillis());
+    }
+
+    // MySQL 기본 collation처럼 대소문자/앞뒤 공백 차이는 같은 지역으로 봄
+    private static String regionKey(String region) {
+        return region.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static List<Beach> copiesOf(List<Beach> beaches) {
+        List<Beach> copies = new ArrayList<>(beaches.size());
+        for (Beach beach : beaches) {
+            copies.add(detachedCopy(beach));
+        }
+        return copies;
+    }
+
+    private static Beach detachedCopy(Beach beach) {
+        return Beach.builder()
+                .id(beach.getId())
+                .name(beach.getName())
+                .region(beach.getRegion())
+                .latitude(beach.getLatitude())
+                .longitude(beach.getLongitude())
+                .description(beach.getDescription())
+                .videoPath(beach.getVideoPath())
+                .status(beach.getStatus())
+                .createdAt(beach.getCreatedAt())
+                .updatedAt(beach.getUpdatedAt())
+                .build();
+    }
+
+    public Map<String, Object> getStats() {
+        Snapshot current = snapshot;
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("loaded", current != null);
+        stats.put("version", current == null ? version.get() : current.version());
+        stats.put("size", current == null ? 0 : current.all().size());
+        stats.put("etag", current == null ? null : current.etag());
+        return stats;
+    }
+}
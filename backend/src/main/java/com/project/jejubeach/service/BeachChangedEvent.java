@@ -0,0 +1,6 @@
+package com.project.jejubeach.service;
+
+/**
+ * 해변 등록/수정/삭제/상태 변경 이벤트. 트랜잭션 커밋 이후 동영상 패키징 등 해변 정보에 의존하는 작업을 갱신하는 데 사용됩니다.
+ */
+public record BeachChangedEvent(Long beachId, String videoPath) {}
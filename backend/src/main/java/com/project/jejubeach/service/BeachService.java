@@ -7,6 +7,7 @@ import com.project.jejubeach.repository.BeachRepository;
 import com.project.jejubeach.repository.UserRepository;
 import com.project.jejubeach.repository.BeachManagerRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -19,26 +20,35 @@ public class BeachService {
     private final BeachRepository beachRepository;
     private final UserRepository userRepository;
     private final BeachManagerRepository beachManagerRepository;
+    private final BeachAliasService beachAliasService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BeachCatalogCache beachCatalogCache;
 
+    // 조회는 메모리 캐시에서 처리 (등록/수정/삭제/상태 변경 시 BeachChangedEvent로 갱신)
     public List<Beach> getAllBeaches() {
-        return beachRepository.findAll();
+        return beachCatalogCache.getAll();
     }
 
     public List<Beach> getActiveBeaches() {
-        return beachRepository.findByStatus(Beach.BeachStatus.ACTIVE);
+        return beachCatalogCache.getByStatus(Beach.BeachStatus.ACTIVE);
     }
 
     public Optional<Beach> getBeachById(Long id) {
-        return beachRepository.findById(id);
+        return beachCatalogCache.getById(id);
     }
 
     public List<Beach> getBeachesByRegion(String region) {
-        return beachRepository.findByRegion(region);
+        return beachCatalogCache.getByRegion(region);
+    }
+
+    // 목록 응답 ETag (해변 목록이 바뀌면 달라짐)
+    public String getCatalogEtag() {
+        return beachCatalogCache.getEtag();
     }
 
     public List<Beach> searchBeachesByName(String name) {
         // 먼저 정확한 이름으로 검색
-        List<Beach> exactMatches = beachRepository.findByNameContainingIgnoreCase(name);
+        List<Beach> exactMatches = beachCatalogCache.searchByName(name);
         if (!exactMatches.isEmpty()) {
             return exactMatches;
         }
@@ -46,7 +56,7 @@ public class BeachService {
         // 정확한 매치가 없으면 키워드 매핑으로 검색
         String mappedName = mapBeachKeyword(name);
         if (!mappedName.equals(name)) {
-            return beachRepository.findByNameContainingIgnoreCase(mappedName);
+            return beachCatalogCache.searchByName(mappedName);
         }
         
         return exactMatches;
@@ -75,17 +85,17 @@ public class BeachService {
         
         if (user.getRole() == User.UserRole.ADMIN) {
             // ADMIN은 모든 해변 조회 가능
-            return beachRepository.findAll();
+            return beachCatalogCache.getAll();
         } else if (user.getRole() == User.UserRole.MANAGER) {
             // MANAGER는 할당된 해변만 조회
             List<Long> beachIds = beachManagerRepository.findBeachIdsByUserId(user.getId());
             if (beachIds.isEmpty()) {
                 return List.of(); // 할당된 해변이 없음
             }
-            return beachRepository.findAllById(beachIds);
+            return beachCatalogCache.getByIds(beachIds);
         } else {
             // USER는 활성 해변만 조회
-            return beachRepository.findByStatus(Beach.BeachStatus.ACTIVE);
+            return beachCatalogCache.getByStatus(Beach.BeachStatus.ACTIVE);
         }
     }
 
@@ -104,7 +114,11 @@ public class BeachService {
                 .createdBy(user)
                 .build();
 
-        return beachRepository.save(beach);
+        Beach saved = beachRepository.save(beach);
+        // 새 해변의 카메라 source를 해석할 수 있도록 별칭 캐시 갱신
+        beachAliasService.clearUnresolved();
+        eventPublisher.publishEvent(new BeachChangedEvent(saved.getId(), saved.getVideoPath()));
+        return saved;
     }
 
     public Beach updateBeach(Long id, BeachRequest request, String username) {
@@ -126,7 +140,10 @@ public class BeachService {
         beach.setDescription(request.getDescription());
         beach.setVideoPath(request.getVideoPath());
 
-        return beachRepository.save(beach);
+        Beach saved = beachRepository.save(beach);
+        beachAliasService.clearUnresolved();
+        eventPublisher.publishEvent(new BeachChangedEvent(saved.getId(), saved.getVideoPath()));
+        return saved;
     }
 
     public void deleteBeach(Long id, String username) {
@@ -141,7 +158,9 @@ public class BeachService {
             throw new RuntimeException("해변을 삭제할 권한이 없습니다");
         }
 
+        beachAliasService.removeBeach(beach.getId());
         beachRepository.delete(beach);
+        eventPublisher.publishEvent(new BeachChangedEvent(beach.getId(), null));
     }
 
     public Beach toggleBeachStatus(Long id, String username) {
@@ -162,7 +181,9 @@ public class BeachService {
             beach.setStatus(Beach.BeachStatus.ACTIVE);
         }
 
-        return beachRepository.save(beach);
+        Beach saved = beachRepository.save(beach);
+        eventPublisher.publishEvent(new BeachChangedEvent(saved.getId(), saved.getVideoPath()));
+        return saved;
     }
 
     // 해변 권한 확인 메서드
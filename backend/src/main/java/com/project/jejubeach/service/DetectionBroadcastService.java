@@ -0,0 +1,90 @@
+package com.project.jejubeach.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.jejubeach.dto.DetectionSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+/**
+ * 커밋된 탐지 데이터를 STOMP 토픽(/topic/beach-crowd/{beachKey})으로 전송합니다.
+ * 새로 구독한 클라이언트에게는 캐시의 현재 값을 즉시 보내 폴링 없이 화면을 채울 수 있게 합니다.
+ */
+@Service
+@Slf4j
+public class DetectionBroadcastService {
+
+    public static final String TOPIC_PREFIX = "/topic/beach-crowd/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final MessageChannel clientOutboundChannel;
+    private final DetectionCache cache;
+    private final BeachAliasService aliasService;
+    private final ObjectMapper objectMapper;
+
+    public DetectionBroadcastService(SimpMessagingTemplate messagingTemplate,
+                                     @Qualifier("clientOutboundChannel") MessageChannel clientOutboundChannel,
+                                     DetectionCache cache,
+                                     BeachAliasService aliasService,
+                                     ObjectMapper objectMapper) {
+        this.messagingTemplate = messagingTemplate;
+        this.clientOutboundChannel = clientOutboundChannel;
+        this.cache = cache;
+        this.aliasService = aliasService;
+        this.objectMapper = objectMapper;
+    }
+
+    // 캐시 갱신 이후에 실행되도록 순서 지정
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSaved(DetectionSavedEvent event) {
+        for (DetectionSnapshot snapshot : event.detections()) {
+            String beachKey = aliasService.beachKeyOf(snapshot);
+            try {
+                messagingTemplate.convertAndSend(TOPIC_PREFIX + beachKey, snapshot);
+            } catch (Exception e) {
+                log.warn("탐지 데이터 전송 실패 ({}): {}", beachKey, e.getMessage());
+            }
+        }
+    }
+
+    // 구독 직후 해당 세션에만 현재 스냅샷 전송
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor headers = StompHeaderAccessor.wrap(event.getMessage());
+        String destination = headers.getDestination();
+        if (destination == null || !destination.startsWith(TOPIC_PREFIX)) {
+            return;
+        }
+
+        DetectionSnapshot snapshot = cache.getLatestByBeachKey(destination.substring(TOPIC_PREFIX.length()));
+        if (snapshot == null) {
+            return;
+        }
+
+        try {
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setSessionId(headers.getSessionId());
+            accessor.setSubscriptionId(headers.getSubscriptionId());
+            accessor.setDestination(destination);
+            accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            accessor.setLeaveMutable(true);
+            byte[] payload = objectMapper.writeValueAsBytes(snapshot);
+            clientOutboundChannel.send(MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
+        } catch (JsonProcessingException e) {
+            log.warn("구독 초기 스냅샷 직렬화 실패 ({}): {}", destination, e.getMessage());
+        }
+    }
+}
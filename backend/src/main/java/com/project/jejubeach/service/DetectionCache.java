@@ -0,0 +1,114 @@
+package com.project.jejubeach.service;
+
+import com.project.jejubeach.dto.DetectionSnapshot;
+import com.project.jejubeach.entity.Detection;
+import com.project.jejubeach.repository.DetectionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 최신 탐지 데이터 메모리 캐시.
+ * 해변 키별 최신 스냅샷과 전체 최근 이력을 불변 객체로 보관하여 조회 API가 DB를 거치지 않도록 합니다.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class DetectionCache {
+
+    // 최근 이력 보관 건수
+    static final int RECENT_CAPACITY = 10;
+
+    private final DetectionRepository repo;
+    private final BeachAliasService aliasService;
+
+    private final Map<String, DetectionSnapshot> latestByBeach = new ConcurrentHashMap<>();
+    private final AtomicReference<List<DetectionSnapshot>> recent = new AtomicReference<>(List.of());
+    private volatile boolean warmed = false;
+
+    // 해변 별칭 로드 이후 실행
+    @Order(1)
+    @EventListener(ApplicationStartedEvent.class)
+    public void warmUp() {
+        try {
+            repo.findLatestPerSource().forEach(d -> put(DetectionSnapshot.from(d)));
+            // 시작 직후 커밋된 저장 건이 먼저 들어와 있을 수 있으므로 덮어쓰지 않고 합침
+            List<Detection> latest = repo.findTop10ByOrderByCreatedAtDesc();
+            latest.forEach(d -> recent.updateAndGet(list -> prepend(list, DetectionSnapshot.from(d))));
+            warmed = true;
+            log.info("✅ 탐지 데이터 캐시 초기화 완료 (source {}개)", latestByBeach.size());
+        } catch (Exception e) {
+            log.warn("⚠️ 탐지 데이터 캐시 초기화 실패, DB 조회로 대체하고 다시 시도합니다: {}", e.getMessage());
+        }
+    }
+
+    // 시작 시 DB 장애 등으로 초기화에 실패했으면 성공할 때까지 주기적으로 다시 시도
+    @Scheduled(initialDelayString = "${detection.cache.warm-up-retry-ms:30000}",
+            fixedDelayString = "${detection.cache.warm-up-retry-ms:30000}")
+    public void retryWarmUp() {
+        if (!warmed) {
+            warmUp();
+        }
+    }
+
+    // 커밋된 저장 건만 반영 (트랜잭션 밖에서 발행된 경우 즉시 반영)
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSaved(DetectionSavedEvent event) {
+        event.detections().forEach(this::put);
+    }
+
+    public boolean isWarmed() {
+        return warmed;
+    }
+
+    public DetectionSnapshot getLatest() {
+        List<DetectionSnapshot> list = recent.get();
+        return list.isEmpty() ? null : list.get(0);
+    }
+
+    public List<DetectionSnapshot> getRecent() {
+        return recent.get();
+    }
+
+    public DetectionSnapshot getLatestByBeachKey(String key) {
+        return latestByBeach.get(key);
+    }
+
+    private void put(DetectionSnapshot snapshot) {
+        latestByBeach.merge(aliasService.beachKeyOf(snapshot), snapshot,
+                (current, incoming) -> incoming.isNewerThan(current) ? incoming : current);
+        recent.updateAndGet(list -> prepend(list, snapshot));
+    }
+
+    // 최신순 정렬을 유지하며 최대 RECENT_CAPACITY건까지 보관 (같은 ID는 한 번만)
+    private static List<DetectionSnapshot> prepend(List<DetectionSnapshot> list, DetectionSnapshot snapshot) {
+        if (snapshot.id() != null && list.stream().anyMatch(s -> snapshot.id().equals(s.id()))) {
+            return list;
+        }
+        List<DetectionSnapshot> next = new ArrayList<>(list.size() + 1);
+        boolean inserted = false;
+        for (DetectionSnapshot s : list) {
+            if (!inserted && snapshot.isNewerThan(s)) {
+                next.add(snapshot);
+                inserted = true;
+            }
+            next.add(s);
+        }
+        if (!inserted) {
+            next.add(snapshot);
+        }
+        return List.copyOf(next.size() > RECENT_CAPACITY ? next.subList(0, RECENT_CAPACITY) : next);
+    }
+}
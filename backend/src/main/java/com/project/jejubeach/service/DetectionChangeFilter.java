@@ -0,0 +1,109 @@
+package com.project.jejubeach.service;
+
+import com.project.jejubeach.dto.DetectionSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 탐지 데이터 변화 감지 단계 (detection.change-filter.enabled).
+ * source별로 마지막으로 커밋된 값과 비교해서 인원 수 차이가 허용 오차 이내이고 쓰러진 사람 수가 같으면 저장하지 않습니다.
+ * 쓰러진 사람 수가 바뀐 데이터는 항상 저장하고, 변화가 없어도 max-interval마다 한 번은 heartbeat 행으로 저장합니다.
+ */
+@Component
+@Slf4j
+public class DetectionChangeFilter {
+
+    private record Written(int personCount, int fallenCount, LocalDateTime at) {}
+
+    @Value("${detection.change-filter.enabled:false}")
+    private boolean enabled;
+
+    // 이 값 이하의 인원 수 변화는 같은 값으로 봄
+    @Value("${detection.change-filter.person-tolerance:0}")
+    private int personTolerance;
+
+    // 변화가 없어도 이 간격마다 한 번은 저장
+    @Value("${detection.change-filter.max-interval-seconds:300}")
+    private long maxIntervalSeconds;
+
+    // 커밋이 확인된 값만 기준으로 삼음 (롤백되거나 spool로 간 데이터는 다시 저장될 수 있도록)
+    private final Map<String, Written> lastWritten = new ConcurrentHashMap<>();
+    private final Counter passedCounter;
+    private final Counter suppressedCounter;
+
+    public DetectionChangeFilter(MeterRegistry meterRegistry) {
+        this.passedCounter = meterRegistry.counter("detection.change-filter.passed");
+        this.suppressedCounter = meterRegistry.counter("detection.change-filter.suppressed");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 저장할 데이터만 남깁니다. 같은 배치 안의 같은 source 데이터도 앞의 데이터를 기준으로 합쳐집니다.
+     */
+    public List<ReceivedDetection> filter(List<ReceivedDetection> received) {
+        if (!enabled) {
+            return received;
+        }
+        Map<String, Written> inBatch = new HashMap<>();
+        List<ReceivedDetection> changed = new ArrayList<>(received.size());
+        for (ReceivedDetection r : received) {
+            String source = r.request().source();
+            Written previous = inBatch.containsKey(source) ? inBatch.get(source) : lastWritten.get(source);
+            if (previous != null && isUnchanged(previous, r)) {
+                suppressedCounter.increment();
+                continue;
+            }
+            inBatch.put(source, new Written(r.request().personCount(), r.request().fallenCount(), r.receivedAt()));
+            changed.add(r);
+        }
+        passedCounter.increment(changed.size());
+        return changed;
+    }
+
+    private boolean isUnchanged(Written previous, ReceivedDetection r) {
+        if (r.request().fallenCount() != previous.fallenCount()) {
+            return false;
+        }
+        if (Math.abs(r.request().personCount() - previous.personCount()) > personTolerance) {
+            return false;
+        }
+        return Duration.between(previous.at(), r.receivedAt()).getSeconds() < maxIntervalSeconds;
+    }
+
+    // 캐시보다 먼저 기준값 갱신
+    @Order(-1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSaved(DetectionSavedEvent event) {
+        for (DetectionSnapshot s : event.detections()) {
+            Written written = new Written(s.personCount(), s.fallenCount(), s.createdAt());
+            // spool 재처리처럼 과거 데이터가 늦게 커밋되어도 더 최신 기준값을 덮어쓰지 않음
+            lastWritten.merge(s.source(), written, (old, now) -> now.at().isBefore(old.at()) ? old : now);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("personTolerance", personTolerance);
+        stats.put("maxIntervalSeconds", maxIntervalSeconds);
+        stats.put("passed", (long) passedCounter.count());
+        stats.put("suppressed", (long) suppressedCounter.count());
+        return stats;
+    }
+}
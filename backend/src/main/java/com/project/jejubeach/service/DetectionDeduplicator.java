@@ -0,0 +1,78 @@
+package com.project.jejubeach.service;
+
+import com.project.jejubeach.dto.DetectionCreateReq;
+import com.project.jejubeach.repository.DetectionJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * source별 순번 high-water mark로 재전송된 탐지 데이터를 걸러냅니다.
+ * 중복 판정은 메모리 해시 조회 한 번으로 끝나며, 동시에 들어온 중복은 (source, seq) 유니크 인덱스가 막습니다.
+ * high-water mark는 저장(커밋) 또는 spool 기록이 끝난 순번만 올리고, 비동기 큐에서 대기 중인 순번은 따로 보관합니다.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class DetectionDeduplicator {
+
+    private final DetectionJdbcRepository jdbcRepo;
+
+    private final Map<String, Long> highWaterMarks = new ConcurrentHashMap<>();
+    // 비동기 큐에 들어가 아직 저장되지 않은 순번 (저장에 실패하면 제거되어 재전송을 받을 수 있음)
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void warmUp() {
+        try {
+            jdbcRepo.findMaxSequencePerSource().forEach(this::advance);
+            log.info("✅ 탐지 데이터 순번 초기화 완료 (source {}개)", highWaterMarks.size());
+        } catch (Exception e) {
+            log.warn("⚠️ 탐지 데이터 순번 초기화 실패: {}", e.getMessage());
+        }
+    }
+
+    // 순번이 없으면 항상 새 데이터로 취급
+    public boolean isDuplicate(DetectionCreateReq request) {
+        if (request.sequence() == null) {
+            return false;
+        }
+        Long hwm = highWaterMarks.get(request.source());
+        return (hwm != null && request.sequence() <= hwm) || pending.contains(key(request));
+    }
+
+    // 저장 또는 spool 기록이 끝난 요청의 순번 기록
+    public void accept(DetectionCreateReq request) {
+        if (request.sequence() != null) {
+            advance(request.source(), request.sequence());
+            pending.remove(key(request));
+        }
+    }
+
+    // 비동기 큐에 넣은 요청 (저장이 끝나면 accept, 실패하면 release)
+    public void markPending(DetectionCreateReq request) {
+        if (request.sequence() != null) {
+            pending.add(key(request));
+        }
+    }
+
+    public void release(DetectionCreateReq request) {
+        if (request.sequence() != null) {
+            pending.remove(key(request));
+        }
+    }
+
+    private static String key(DetectionCreateReq request) {
+        return request.source() + "#" + request.sequence();
+    }
+
+    private void advance(String source, Long sequence) {
+        highWaterMarks.merge(source, sequence, Math::max);
+    }
+}
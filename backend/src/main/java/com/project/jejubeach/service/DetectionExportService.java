@@ -0,0 +1,142 @@
+package com.project.jejubeach.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.jejubeach.dto.DetectionSnapshot;
+import com.project.jejubeach.repository.DetectionJdbcRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 탐지 데이터 내보내기 (NDJSON / CSV).
+ * DB 커서에서 읽은 행을 바로 출력 스트림에 쓰므로 내보내는 양과 무관하게 메모리 사용량이 일정합니다.
+ * 내보내기는 전용 실행기에서만 실행되며, 다른 비동기 요청(SSE 등)의 실행기/타임아웃 설정에는 영향을 주지 않습니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class DetectionExportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final String CSV_HEADER = "id,person_count,fallen_count,source,beach_id,created_at\n";
+
+    private final DetectionJdbcRepository jdbcRepo;
+    private final ObjectMapper objectMapper;
+
+    // 동시 내보내기 수 / 대기열 크기 / 타임아웃
+    @Value("${web.streaming.max-concurrent:4}")
+    private int maxConcurrent;
+
+    @Value("${web.streaming.queue-capacity:8}")
+    private int queueCapacity;
+
+    @Value("${web.streaming.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    void init() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrent);
+        executor.setMaxPoolSize(maxConcurrent);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("export-");
+        executor.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public AsyncTaskExecutor getExecutor() {
+        return executor;
+    }
+
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    public void export(OutputStream out, Format format, boolean gzip,
+                       String source, LocalDateTime from, LocalDateTime to) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+        }
+
+        try {
+            jdbcRepo.streamForExport(source, from, to, rs -> {
+                Timestamp createdAt = rs.getTimestamp("created_at");
+                Long beachId = rs.getObject("beach_id", Long.class);
+                DetectionSnapshot row = new DetectionSnapshot(
+                        rs.getLong("id"),
+                        rs.getInt("person_count"),
+                        rs.getInt("fallen_count"),
+                        rs.getString("source"),
+                        beachId,
+                        createdAt == null ? null : createdAt.toLocalDateTime());
+                try {
+                    if (format == Format.CSV) {
+                        writeCsv(writer, row);
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(row));
+                        writer.write('\n');
+                    }
+                } catch (IOException e) {
+                    // 클라이언트 연결 종료 등
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.flush();
+        if (target instanceof GZIPOutputStream gz) {
+            gz.finish();
+        }
+        out.flush();
+    }
+
+    private static void writeCsv(Writer writer, DetectionSnapshot row) throws IOException {
+        writer.write(String.valueOf(row.id()));
+        writer.write(',');
+        writer.write(String.valueOf(row.personCount()));
+        writer.write(',');
+        writer.write(String.valueOf(row.fallenCount()));
+        writer.write(',');
+        writer.write(escapeCsv(row.source()));
+        writer.write(',');
+        writer.write(row.beachId() == null ? "" : String.valueOf(row.beachId()));
+        writer.write(',');
+        writer.write(row.createdAt() == null ? "" : row.createdAt().toString());
+        writer.write('\n');
+    }
+
+    private static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
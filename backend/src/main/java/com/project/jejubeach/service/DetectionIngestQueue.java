@@ -0,0 +1,290 @@
+package com.project.jejubeach.service;
+
+import com.project.jejubeach.dto.DetectionCreateReq;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 탐지 데이터 비동기(write-behind) 저장 큐.
+ * 요청은 검증 후 메모리 큐에 넣고 즉시 응답하며, 전용 flusher 스레드가 건수/시간 기준으로 모아서 배치 저장합니다.
+ */
+@Service
+@Slf4j
+public class DetectionIngestQueue {
+
+    public enum OverflowPolicy { BACKPRESSURE, DROP_OLDEST }
+
+    private final DetectionService detectionService;
+    private final DetectionSpool spool;
+    private final DetectionDeduplicator deduplicator;
+
+    // sync: 요청 스레드에서 바로 저장, async: 큐에 넣고 202 응답
+    @Value("${detection.ingest.mode:sync}")
+    private String mode;
+
+    @Value("${detection.ingest.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${detection.ingest.batch-size:200}")
+    private int batchSize;
+
+    @Value("${detection.ingest.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    // 큐가 가득 찼을 때: backpressure(잠시 대기 후 거절) 또는 drop-oldest(가장 오래된 항목 폐기)
+    @Value("${detection.ingest.overflow-policy:backpressure}")
+    private String overflowPolicy;
+
+    @Value("${detection.ingest.offer-timeout-ms:100}")
+    private long offerTimeoutMs;
+
+    private BlockingQueue<ReceivedDetection> queue;
+    // 큐 자리 예약 (여러 건 요청이 한 번에 자리를 확보해서 일부만 들어가는 일이 없도록, flusher가 꺼낸 만큼 반환)
+    private Semaphore slots;
+    private OverflowPolicy policy;
+    private Thread flusher;
+    private volatile boolean running;
+
+    private final Timer flushTimer;
+    private final Counter acceptedCounter;
+    private final Counter rejectedCounter;
+    private final Counter droppedCounter;
+    private final Counter flushedCounter;
+    private final Counter flushFailureCounter;
+    private final MeterRegistry meterRegistry;
+
+    public DetectionIngestQueue(DetectionService detectionService, DetectionSpool spool,
+                                DetectionDeduplicator deduplicator, MeterRegistry meterRegistry) {
+        this.detectionService = detectionService;
+        this.spool = spool;
+        this.deduplicator = deduplicator;
+        this.meterRegistry = meterRegistry;
+        this.flushTimer = Timer.builder("detection.ingest.flush.latency")
+                .description("탐지 데이터 배치 저장 소요 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.acceptedCounter = meterRegistry.counter("detection.ingest.accepted");
+        this.rejectedCounter = meterRegistry.counter("detection.ingest.rejected");
+        this.droppedCounter = meterRegistry.counter("detection.ingest.dropped");
+        this.flushedCounter = meterRegistry.counter("detection.ingest.flushed");
+        this.flushFailureCounter = meterRegistry.counter("detection.ingest.flush.failures");
+    }
+
+    @PostConstruct
+    void init() {
+        policy = "drop-oldest".equalsIgnoreCase(overflowPolicy) ? OverflowPolicy.DROP_OLDEST : OverflowPolicy.BACKPRESSURE;
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        slots = new Semaphore(queueCapacity);
+        Gauge.builder("detection.ingest.queue.depth", queue, BlockingQueue::size)
+                .description("저장 대기 중인 탐지 데이터 수")
+                .register(meterRegistry);
+
+        if (isAsync()) {
+            running = true;
+            flusher = new Thread(this::flushLoop, "detection-flusher");
+            flusher.setDaemon(true);
+            flusher.start();
+            log.info("✅ 탐지 데이터 비동기 저장 활성화 (용량: {}, 배치: {}, 간격: {}ms, 초과 정책: {})",
+                    queueCapacity, batchSize, flushIntervalMs, policy);
+        }
+    }
+
+    public boolean isAsync() {
+        return "async".equalsIgnoreCase(mode);
+    }
+
+    /**
+     * 요청을 큐에 넣습니다. backpressure 정책에서 큐가 가득 차 있으면 false를 반환합니다.
+     */
+    public boolean offer(DetectionCreateReq request) {
+        ReceivedDetection item = ReceivedDetection.now(request);
+        // 큐에 들어간 뒤 바로 flush될 수 있으므로 넣기 전에 대기 중으로 표시
+        deduplicator.markPending(request);
+        if (policy == OverflowPolicy.DROP_OLDEST) {
+            while (!slots.tryAcquire()) {
+                ReceivedDetection dropped = queue.poll();
+                if (dropped != null) {
+                    slots.release();
+                    deduplicator.release(dropped.request());
+                    droppedCounter.increment();
+                }
+            }
+            queue.add(item);
+            acceptedCounter.increment();
+            return true;
+        }
+
+        if (reserve(1)) {
+            queue.add(item);
+            acceptedCounter.increment();
+            return true;
+        }
+        deduplicator.release(request);
+        rejectedCounter.increment();
+        return false;
+    }
+
+    /**
+     * 여러 요청을 큐에 넣습니다. backpressure 정책에서는 전체 건수만큼 자리를 한 번에 예약하고,
+     * offer-timeout-ms 동안 자리가 나지 않으면 한 건도 넣지 않고 전체를 거절합니다.
+     */
+    public boolean offerAll(List<DetectionCreateReq> requests) {
+        if (requests.size() == 1 || policy == OverflowPolicy.DROP_OLDEST) {
+            boolean all = true;
+            for (DetectionCreateReq request : requests) {
+                all &= offer(request);
+            }
+            return all;
+        }
+        if (requests.size() > queueCapacity || !reserve(requests.size())) {
+            rejectedCounter.increment(requests.size());
+            return false;
+        }
+        // 큐에 들어간 뒤 바로 flush될 수 있으므로 넣기 전에 대기 중으로 표시
+        requests.forEach(deduplicator::markPending);
+        for (DetectionCreateReq request : requests) {
+            queue.add(ReceivedDetection.now(request));
+        }
+        acceptedCounter.increment(requests.size());
+        return true;
+    }
+
+    private boolean reserve(int count) {
+        try {
+            return slots.tryAcquire(count, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("mode", isAsync() ? "async" : "sync");
+        stats.put("overflowPolicy", policy.name());
+        stats.put("queueDepth", queue.size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("accepted", (long) acceptedCounter.count());
+        stats.put("rejected", (long) rejectedCounter.count());
+        stats.put("dropped", (long) droppedCounter.count());
+        stats.put("flushed", (long) flushedCounter.count());
+        stats.put("flushFailures", (long) flushFailureCounter.count());
+        stats.put("flushCount", flushTimer.count());
+        stats.put("flushMeanMs", flushTimer.mean(TimeUnit.MILLISECONDS));
+        stats.put("flushMaxMs", flushTimer.max(TimeUnit.MILLISECONDS));
+        return stats;
+    }
+
+    private void flushLoop() {
+        List<ReceivedDetection> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                ReceivedDetection first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                slots.release();
+
+                // 배치가 찰 때까지 최대 flushIntervalMs 동안 더 모음
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    slots.release(queue.drainTo(batch, batchSize - batch.size()));
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    ReceivedDetection next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    slots.release();
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<ReceivedDetection> batch) {
+        long start = System.nanoTime();
+        try {
+            // DB 장애 중에는 DB 연결 대기 없이 바로 spool에 기록
+            if (spool.isEnabled() && !spool.isDatabaseAvailable()) {
+                spool.appendAll(List.copyOf(batch));
+                batch.forEach(r -> deduplicator.accept(r.request()));
+                return;
+            }
+            detectionService.saveReceived(List.copyOf(batch));
+            batch.forEach(r -> deduplicator.accept(r.request()));
+            flushedCounter.increment(batch.size());
+        } catch (Exception e) {
+            flushFailureCounter.increment();
+            if (spoolFailedBatch(batch, e)) {
+                batch.forEach(r -> deduplicator.accept(r.request()));
+            } else {
+                // 저장되지 않은 순번은 재전송을 받을 수 있도록 대기 목록에서 제거
+                batch.forEach(r -> deduplicator.release(r.request()));
+                log.error("탐지 데이터 배치 저장 실패 ({}건): {}", batch.size(), e.getMessage());
+            }
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private boolean spoolFailedBatch(List<ReceivedDetection> batch, Exception cause) {
+        if (!spool.isEnabled() || !DetectionSpool.isDatabaseUnavailable(cause)) {
+            return false;
+        }
+        spool.markDatabaseDown(cause);
+        try {
+            spool.appendAll(List.copyOf(batch));
+            return true;
+        } catch (Exception e) {
+            log.error("탐지 데이터 spool 기록 실패 ({}건): {}", batch.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    // 종료 시 남은 데이터를 모두 저장
+    @PreDestroy
+    void shutdown() {
+        if (flusher == null) {
+            return;
+        }
+        // flusher는 poll 타임아웃마다 running을 확인하고 남은 큐를 비운 뒤 종료
+        running = false;
+        try {
+            flusher.join(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<ReceivedDetection> remaining = new ArrayList<>();
+        slots.release(queue.drainTo(remaining));
+        if (!remaining.isEmpty()) {
+            flush(remaining);
+        }
+    }
+}
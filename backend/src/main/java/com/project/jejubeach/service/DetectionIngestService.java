@@ -0,0 +1,123 @@
+package com.project.jejubeach.service;
+
+import com.project.jejubeach.dto.DetectionCreateReq;
+import com.project.jejubeach.entity.Detection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 탐지 데이터 수신 경로.
+ * 설정에 따라 즉시 저장하거나 비동기 큐에 넣고, DB 장애 시에는 로컬 spool에 기록합니다.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class DetectionIngestService {
+
+    // SUPPRESSED: 처리는 끝났지만 저장된 행이 없음 (변화 감지로 걸러졌거나 동시에 들어온 같은 순번이 먼저 저장됨)
+    public enum Status { SAVED, SUPPRESSED, QUEUED, SPOOLED, DUPLICATE, REJECTED }
+
+    public record IngestResult(Status status, int count, int duplicates, List<Detection> saved) {
+
+        static IngestResult of(Status status, int count) {
+            return new IngestResult(status, count, 0, List.of());
+        }
+
+        IngestResult withDuplicates(int duplicates) {
+            return new IngestResult(status, count, duplicates, saved);
+        }
+    }
+
+    private final DetectionService detectionService;
+    private final DetectionIngestQueue ingestQueue;
+    private final DetectionSpool spool;
+    private final DetectionDeduplicator deduplicator;
+
+    // 마지막으로 탐지 데이터를 받은 시각 (저장/큐/spool/중복 여부와 무관, AI 모델 heartbeat 판단용)
+    private volatile long lastAcceptedAt;
+
+    public IngestResult ingest(DetectionCreateReq request) {
+        return ingestAll(List.of(request));
+    }
+
+    public IngestResult ingestAll(List<DetectionCreateReq> requests) {
+        lastAcceptedAt = System.currentTimeMillis();
+        // 이미 받은 순번의 재전송은 저장 경로에 들어가기 전에 제외
+        List<DetectionCreateReq> fresh = dropDuplicates(requests);
+        int duplicates = requests.size() - fresh.size();
+        if (fresh.isEmpty()) {
+            return IngestResult.of(Status.DUPLICATE, 0).withDuplicates(duplicates);
+        }
+
+        IngestResult result = accept(fresh);
+        // 비동기 큐에 넣은 요청은 flusher가 저장을 마친 뒤 순번을 기록
+        if (result.status() == Status.SAVED || result.status() == Status.SUPPRESSED
+                || result.status() == Status.SPOOLED) {
+            fresh.forEach(deduplicator::accept);
+        }
+        return result.withDuplicates(duplicates);
+    }
+
+    public long getLastAcceptedAt() {
+        return lastAcceptedAt;
+    }
+
+    private List<DetectionCreateReq> dropDuplicates(List<DetectionCreateReq> requests) {
+        List<DetectionCreateReq> fresh = new ArrayList<>(requests.size());
+        Set<String> seen = new HashSet<>();
+        for (DetectionCreateReq request : requests) {
+            if (deduplicator.isDuplicate(request)) {
+                continue;
+            }
+            // 같은 배치 안의 중복 순번
+            if (request.sequence() != null && !seen.add(request.source() + "#" + request.sequence())) {
+                continue;
+            }
+            fresh.add(request);
+        }
+        return fresh;
+    }
+
+    private IngestResult accept(List<DetectionCreateReq> requests) {
+        if (ingestQueue.isAsync()) {
+            return ingestQueue.offerAll(requests)
+                    ? IngestResult.of(Status.QUEUED, requests.size())
+                    : IngestResult.of(Status.REJECTED, 0);
+        }
+
+        List<ReceivedDetection> received = requests.stream().map(ReceivedDetection::now).toList();
+        // DB 장애로 판단된 동안에는 DB 연결 대기 없이 바로 spool에 기록
+        if (spool.isEnabled() && !spool.isDatabaseAvailable()) {
+            return spool(received);
+        }
+        try {
+            List<Detection> saved = detectionService.saveReceived(received);
+            return saved.isEmpty()
+                    ? IngestResult.of(Status.SUPPRESSED, 0)
+                    : new IngestResult(Status.SAVED, saved.size(), 0, saved);
+        } catch (Exception e) {
+            if (!spool.isEnabled() || !DetectionSpool.isDatabaseUnavailable(e)) {
+                throw e;
+            }
+            spool.markDatabaseDown(e);
+            return spool(received);
+        }
+    }
+
+    private IngestResult spool(List<ReceivedDetection> received) {
+        try {
+            spool.appendAll(received);
+            return IngestResult.of(Status.SPOOLED, received.size());
+        } catch (IOException e) {
+            log.error("탐지 데이터 spool 기록 실패 ({}건): {}", received.size(), e.getMessage());
+            return IngestResult.of(Status.REJECTED, 0);
+        }
+    }
+}
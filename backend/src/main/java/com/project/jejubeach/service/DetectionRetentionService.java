@@ -0,0 +1,62 @@
+package com.project.jejubeach.service;
+
+import com.project.jejubeach.repository.DetectionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 탐지 데이터 보관 정책.
+ * insert 경로에서 매번 정리하던 방식 대신, 주기적으로 source별 보관 건수와 보관 기간을 적용합니다.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class DetectionRetentionService {
+
+    // 한 번의 DELETE로 지울 최대 행 수
+    private static final int DELETE_CHUNK_SIZE = 5000;
+
+    private final DetectionRepository repo;
+
+    // source(카메라)별 보관 건수 (0 이하이면 건수 제한 없음)
+    @Value("${detection.retention.keep-per-source:0}")
+    private int keepPerSource;
+
+    // 보관 기간(시간) (0 이하이면 기간 제한 없음)
+    @Value("${detection.retention.max-age-hours:2160}")
+    private long maxAgeHours;
+
+    @Scheduled(initialDelayString = "${detection.retention.sweep-interval-ms:60000}",
+               fixedDelayString = "${detection.retention.sweep-interval-ms:60000}")
+    public void sweep() {
+        try {
+            int removed = 0;
+            if (maxAgeHours > 0) {
+                removed += deleteExpired(LocalDateTime.now().minusHours(maxAgeHours));
+            }
+            if (keepPerSource > 0) {
+                removed += repo.trimPerSource(keepPerSource);
+            }
+            if (removed > 0) {
+                log.debug("탐지 데이터 정리 완료: {}건 삭제", removed);
+            }
+        } catch (Exception e) {
+            log.warn("탐지 데이터 정리 중 오류 발생: {}", e.getMessage());
+        }
+    }
+
+    private int deleteExpired(LocalDateTime cutoff) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = repo.deleteOlderThan(cutoff, DELETE_CHUNK_SIZE);
+            total += deleted;
+        } while (deleted == DELETE_CHUNK_SIZE);
+        return total;
+    }
+}
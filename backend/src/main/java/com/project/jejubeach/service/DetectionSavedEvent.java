@@ -0,0 +1,10 @@
+package com.project.jejubeach.service;
+
+import com.project.jejubeach.dto.DetectionSnapshot;
+
+import java.util.List;
+
+/**
+ * 탐지 데이터 저장 이벤트. 트랜잭션 커밋 이후 캐시 갱신 등에 사용됩니다.
+ */
+public record DetectionSavedEvent(List<DetectionSnapshot> detections) {}
@@ -1,10 +1,19 @@
 package com.project.jejubeach.service;
 
+import com.project.jejubeach.dto.DetectionCreateReq;
+import com.project.jejubeach.dto.DetectionHistoryBucket;
+import com.project.jejubeach.dto.DetectionSnapshot;
 import com.project.jejubeach.entity.Detection;
+import com.project.jejubeach.repository.DetectionJdbcRepository;
 import com.project.jejubeach.repository.DetectionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 
 @Service
@@ -12,6 +21,18 @@ import java.util.List;
 public class DetectionService {
     
     private final DetectionRepository repo;
+    private final DetectionJdbcRepository jdbcRepo;
+    private final DetectionCache cache;
+    private final BeachAliasService aliasService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DetectionChangeFilter changeFilter;
+    
+    // 한 번의 이력 조회에서 허용하는 최대 구간 수
+    private static final long MAX_HISTORY_BUCKETS = 5000;
+
+    // 이력 구간 경계 기준 타임존 (1d 구간은 이 타임존의 자정부터 시작)
+    @Value("${detection.history.zone:Asia/Seoul}")
+    private String historyZone;
     
     @Transactional
     public Detection saveAndTrim(int personCount, int fallenCount, String source) {
@@ -20,43 +41,105 @@ public class DetectionService {
                      .personCount(personCount)
                      .fallenCount(fallenCount)
                      .source(source)
+                     .beachId(aliasService.resolveBeachId(source))
                      .build()
         );
-        // 최신 10개만 남기기
-        repo.trimToKeep(10);
+        // 보관 기간 정리는 DetectionRetentionService가 insert 경로 밖에서 수행
+        eventPublisher.publishEvent(new DetectionSavedEvent(List.of(DetectionSnapshot.from(saved))));
+        return saved;
+    }
+
+    /**
+     * 여러 탐지 데이터를 한 번의 JDBC 배치 insert로 저장합니다.
+     */
+    @Transactional
+    public List<Detection> saveBatch(List<DetectionCreateReq> requests) {
+        return saveReceived(requests.stream().map(ReceivedDetection::now).toList());
+    }
+
+    /**
+     * 수신 시각이 기록된 탐지 데이터를 한 번의 JDBC 배치 insert로 저장합니다. (비동기 저장 경로)
+     * 변화 감지가 켜져 있으면 직전 값과 같은 데이터는 저장/전송하지 않습니다.
+     */
+    @Transactional
+    public List<Detection> saveReceived(List<ReceivedDetection> received) {
+        List<ReceivedDetection> changed = changeFilter.filter(received);
+        if (changed.isEmpty()) {
+            return List.of();
+        }
+        List<Detection> rows = changed.stream()
+                .map(r -> Detection.builder()
+                        .personCount(r.request().personCount())
+                        .fallenCount(r.request().fallenCount())
+                        .source(r.request().source())
+                        .beachId(aliasService.resolveBeachId(r.request().source()))
+                        .sequence(r.request().sequence())
+                        .createdAt(r.receivedAt())
+                        .build())
+                .toList();
+        List<Detection> saved = jdbcRepo.batchInsert(rows);
+        eventPublisher.publishEvent(new DetectionSavedEvent(
+                saved.stream().map(DetectionSnapshot::from).toList()));
         return saved;
     }
     
-    @Transactional(readOnly = true)
-    public Detection getLatest() {
-        return repo.findTopByOrderByCreatedAtDesc();
+    // 캐시가 준비되면 트랜잭션/DB 조회 없이 메모리에서 응답
+    public DetectionSnapshot getLatest() {
+        if (cache.isWarmed()) {
+            return cache.getLatest();
+        }
+        Detection d = repo.findTopByOrderByCreatedAtDesc();
+        return d == null ? null : DetectionSnapshot.from(d);
     }
     
-    @Transactional(readOnly = true)
-    public List<Detection> getLatest10() {
-        return repo.findTop10ByOrderByCreatedAtDesc();
-    }
-
-    @Transactional(readOnly = true)
-    public Detection getLatestByBeach(String beachName) {
-        // 해변 이름에 따른 source 패턴 매칭
-        String sourcePattern = getSourcePattern(beachName);
-        return repo.findTopBySourceContainingOrderByCreatedAtDesc(sourcePattern);
-    }
-
-    private String getSourcePattern(String beachName) {
-        switch (beachName.toLowerCase()) {
-            case "hamduck":
-            case "함덕":
-                return "hamduck";
-            case "iho":
-            case "이호":
-                return "iho";
-            case "walljeonglee":
-            case "월정리":
-                return "walljeonglee";
-            default:
-                return beachName.toLowerCase();
+    public List<DetectionSnapshot> getLatest10() {
+        if (cache.isWarmed()) {
+            return cache.getRecent();
         }
+        return repo.findTop10ByOrderByCreatedAtDesc().stream().map(DetectionSnapshot::from).toList();
+    }
+
+    public DetectionSnapshot getLatestByBeach(String beachName) {
+        // 별칭 테이블로 해변 대표 키 해석 (예: "함덕" -> "hamduck")
+        String beachKey = aliasService.resolveBeachKey(beachName);
+        if (cache.isWarmed()) {
+            return cache.getLatestByBeachKey(beachKey);
+        }
+        Long beachId = aliasService.findBeachId(beachName);
+        Detection d = beachId != null
+                ? repo.findTopByBeachIdOrderByCreatedAtDesc(beachId)
+                : repo.findTopBySourceStartingWithOrderByCreatedAtDesc(beachKey);
+        return d == null ? null : DetectionSnapshot.from(d);
+    }
+
+    /**
+     * 해변별 탐지 이력을 step 단위 구간으로 집계합니다. 해변을 알 수 없으면 빈 목록을 반환합니다.
+     */
+    public List<DetectionHistoryBucket> getHistory(String beachName, LocalDateTime from, LocalDateTime to, Duration step) {
+        if (step.getSeconds() < 1) {
+            throw new IllegalArgumentException("step은 1초 이상이어야 합니다");
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from은 to보다 이전이어야 합니다");
+        }
+        if (Duration.between(from, to).getSeconds() / step.getSeconds() > MAX_HISTORY_BUCKETS) {
+            throw new IllegalArgumentException("구간 수가 너무 많습니다 (최대 " + MAX_HISTORY_BUCKETS + "개)");
+        }
+        Long beachId = aliasService.findBeachId(beachName);
+        if (beachId == null) {
+            return List.of();
+        }
+        return jdbcRepo.findHistoryBuckets(beachId, from, to, step.getSeconds(), bucketAnchor(from));
+    }
+
+    // from이 속한 날의 자정(history.zone 기준)을 서버 시간으로 변환한 값
+    private LocalDateTime bucketAnchor(LocalDateTime from) {
+        ZoneId zone = ZoneId.of(historyZone);
+        return from.atZone(ZoneId.systemDefault())
+                .withZoneSameInstant(zone)
+                .toLocalDate()
+                .atStartOfDay(zone)
+                .withZoneSameInstant(ZoneId.systemDefault())
+                .toLocalDateTime();
     }
 }
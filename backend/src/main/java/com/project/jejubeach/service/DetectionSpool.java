@@ -0,0 +1,431 @@
+package com.project.jejubeach.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * DB 장애 시 탐지 데이터를 보존하는 로컬 append-only 세그먼트 로그(write-ahead spool).
+ *
+ * 레코드 형식: [int 길이][int CRC32C][JSON 본문]. 세그먼트가 최대 크기를 넘으면 새 파일로 교체하고,
+ * fsync는 건수/시간 단위로 묶어서 수행합니다. 재시작 시 체크섬을 검증하여 마지막 세그먼트의 잘린 꼬리를 제거하고,
+ * DB가 복구되면 백그라운드 replayer가 세그먼트 순서대로 다시 저장한 뒤 파일을 삭제합니다.
+ * 시간 단위 fsync는 전용 스레드에서 수행하므로 재처리나 다른 예약 작업이 오래 걸려도 fsync 주기는 지켜집니다.
+ *
+ * 재처리는 at-least-once입니다. 세그먼트의 재처리 위치는 메모리에만 있으므로 재처리 도중 종료되면
+ * 다음 시작 시 세그먼트 처음부터 다시 저장합니다. (순번이 있는 데이터는 (source, seq) 유니크 인덱스로 한 번만 저장됨)
+ */
+@Service
+@Slf4j
+public class DetectionSpool {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 64 * 1024;
+
+    private final DetectionService detectionService;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${detection.spool.enabled:true}")
+    private boolean enabled;
+
+    @Value("${detection.spool.dir:./spool/detections}")
+    private String spoolDir;
+
+    @Value("${detection.spool.segment-max-bytes:8388608}")
+    private long segmentMaxBytes;
+
+    // 이 건수만큼 쌓이면 즉시 fsync (그 외에는 fsync-interval-ms 주기로 fsync)
+    @Value("${detection.spool.fsync-batch:64}")
+    private int fsyncBatch;
+
+    @Value("${detection.spool.fsync-interval-ms:200}")
+    private long fsyncIntervalMs;
+
+    @Value("${detection.spool.replay-batch-size:500}")
+    private int replayBatchSize;
+
+    private Path dir;
+    private final AtomicLong nextSegmentId = new AtomicLong();
+    private FileChannel activeChannel;
+    private Path activeSegment;
+    private int unsyncedRecords;
+    private long activeRecords;
+
+    // DB 장애로 판단된 동안에는 DB를 거치지 않고 바로 spool에 기록하여 ingest 지연을 일정하게 유지
+    private volatile boolean databaseAvailable = true;
+    private final AtomicLong spooledCount = new AtomicLong();
+    private final AtomicLong replayedCount = new AtomicLong();
+    // 부분적으로 재처리된 세그먼트의 다음 읽기 위치
+    private final Map<Path, Long> replayOffsets = new HashMap<>();
+    private final ScheduledExecutorService fsyncScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "spool-fsync");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public DetectionSpool(DetectionService detectionService, ObjectMapper objectMapper,
+                          JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.detectionService = detectionService;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        Gauge.builder("detection.spool.spooled", spooledCount, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("detection.spool.replayed", replayedCount, AtomicLong::get).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        dir = Paths.get(spoolDir).toAbsolutePath();
+        Files.createDirectories(dir);
+        recover();
+        fsyncScheduler.scheduleWithFixedDelay(this::syncQuietly, fsyncIntervalMs, fsyncIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("✅ 탐지 데이터 spool 준비 완료: {} (대기 세그먼트 {}개)", dir, listSegments().size());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isDatabaseAvailable() {
+        return databaseAvailable;
+    }
+
+    /**
+     * DB 연결/일시적 장애로 인한 예외인지 여부. 데이터 자체의 오류는 spool 대상이 아닙니다.
+     */
+    public static boolean isDatabaseUnavailable(Throwable e) {
+        return e instanceof DataAccessResourceFailureException
+                || e instanceof TransientDataAccessException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    public void markDatabaseDown(Exception cause) {
+        if (databaseAvailable) {
+            log.error("❌ DB 저장 실패, 탐지 데이터를 로컬 spool에 기록합니다: {}", cause.getMessage());
+        }
+        databaseAvailable = false;
+    }
+
+    /**
+     * 탐지 데이터를 spool에 추가합니다. fsync는 묶어서 수행되므로 호출 지연이 짧고 일정합니다.
+     */
+    public synchronized void appendAll(List<ReceivedDetection> records) throws IOException {
+        if (activeChannel == null) {
+            openNewSegment();
+        }
+        for (ReceivedDetection record : records) {
+            byte[] payload = objectMapper.writeValueAsBytes(record);
+            CRC32C crc = new CRC32C();
+            crc.update(payload);
+            ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+            buf.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+            while (buf.hasRemaining()) {
+                activeChannel.write(buf);
+            }
+            unsyncedRecords++;
+            activeRecords++;
+        }
+        spooledCount.addAndGet(records.size());
+
+        if (unsyncedRecords >= fsyncBatch) {
+            sync();
+        }
+        if (activeChannel.size() >= segmentMaxBytes) {
+            sealActiveSegment();
+        }
+    }
+
+    public synchronized void sync() throws IOException {
+        if (activeChannel != null && unsyncedRecords > 0) {
+            activeChannel.force(false);
+            unsyncedRecords = 0;
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (IOException e) {
+            log.warn("spool fsync 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * DB가 복구되면 봉인된 세그먼트를 오래된 순서대로 다시 저장합니다.
+     */
+    @Scheduled(initialDelayString = "${detection.spool.replay-interval-ms:5000}",
+               fixedDelayString = "${detection.spool.replay-interval-ms:5000}")
+    public void replay() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            synchronized (this) {
+                if (activeRecords > 0) {
+                    sealActiveSegment();
+                }
+            }
+            List<Path> segments = listSegments();
+            if (segments.isEmpty()) {
+                if (!databaseAvailable) {
+                    probeDatabase();
+                }
+                return;
+            }
+            for (Path segment : segments) {
+                if (!replaySegment(segment)) {
+                    return;
+                }
+            }
+            if (!databaseAvailable) {
+                databaseAvailable = true;
+                log.info("✅ DB 복구 확인, spool 재처리 완료 (누적 {}건)", replayedCount.get());
+            }
+        } catch (Exception e) {
+            log.warn("spool 재처리 중 오류: {}", e.getMessage());
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("databaseAvailable", databaseAvailable);
+        stats.put("spooled", spooledCount.get());
+        stats.put("replayed", replayedCount.get());
+        stats.put("pendingSegments", enabled ? listSegments().size() : 0);
+        return stats;
+    }
+
+    @PreDestroy
+    synchronized void shutdown() throws IOException {
+        fsyncScheduler.shutdownNow();
+        if (activeChannel != null) {
+            sync();
+            activeChannel.close();
+            activeChannel = null;
+            if (activeRecords == 0) {
+                Files.deleteIfExists(activeSegment);
+            }
+        }
+    }
+
+    // 세그먼트 하나를 재처리. DB 저장에 실패하면 false (다음 주기에 이어서 진행)
+    private boolean replaySegment(Path segment) throws IOException {
+        long offset = replayOffsets.getOrDefault(segment, 0L);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            channel.position(offset);
+            while (true) {
+                List<ReceivedDetection> batch = new ArrayList<>(replayBatchSize);
+                long end = readRecords(channel, batch, replayBatchSize);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                try {
+                    int skipped = saveSplitting(batch);
+                    if (skipped > 0) {
+                        log.error("spool 레코드 {}건 중 {}건 재처리 실패, 실패한 레코드만 건너뜁니다.", batch.size(), skipped);
+                    }
+                } catch (RuntimeException e) {
+                    if (isDatabaseUnavailable(e)) {
+                        markDatabaseDown(e);
+                        return false;
+                    }
+                    throw e;
+                }
+                replayOffsets.put(segment, end);
+            }
+        }
+        replayOffsets.remove(segment);
+        Files.deleteIfExists(segment);
+        log.info("✅ spool 세그먼트 재처리 완료: {}", segment.getFileName());
+        return true;
+    }
+
+    /**
+     * 배치를 저장하고 건너뛴 레코드 수를 반환합니다.
+     * 데이터 자체 오류로 실패하면 배치를 반으로 나눠 다시 시도하므로 실패한 레코드만 건너뜁니다.
+     * (배치 저장은 하나의 트랜잭션이라 실패한 배치는 전부 롤백된 상태) DB 연결 오류는 그대로 던집니다.
+     */
+    int saveSplitting(List<ReceivedDetection> batch) {
+        try {
+            detectionService.saveReceived(batch);
+            replayedCount.addAndGet(batch.size());
+            return 0;
+        } catch (RuntimeException e) {
+            if (isDatabaseUnavailable(e)) {
+                throw e;
+            }
+            if (batch.size() == 1) {
+                log.warn("spool 레코드 재처리 실패 ({}): {}", batch.get(0).request().source(), e.getMessage());
+                return 1;
+            }
+            int mid = batch.size() / 2;
+            return saveSplitting(batch.subList(0, mid)) + saveSplitting(batch.subList(mid, batch.size()));
+        }
+    }
+
+    /**
+     * 현재 위치부터 최대 max건의 유효한 레코드를 읽고, 마지막으로 읽은 유효 레코드의 끝 위치를 반환합니다.
+     * 체크섬이 맞지 않거나 잘린 레코드를 만나면 거기서 멈춥니다.
+     */
+    private long readRecords(FileChannel channel, List<ReceivedDetection> out, int max) throws IOException {
+        long position = channel.position();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (out.size() < max) {
+            header.clear();
+            if (readFully(channel, header) < HEADER_BYTES) {
+                break;
+            }
+            header.flip();
+            int length = header.getInt();
+            int checksum = header.getInt();
+            if (length <= 0 || length > MAX_RECORD_BYTES) {
+                break;
+            }
+            ByteBuffer body = ByteBuffer.allocate(length);
+            if (readFully(channel, body) < length) {
+                break;
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(body.array());
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            out.add(objectMapper.readValue(body.array(), ReceivedDetection.class));
+            position = channel.position();
+        }
+        channel.position(position);
+        return position;
+    }
+
+    private static int readFully(FileChannel channel, ByteBuffer buf) throws IOException {
+        int total = 0;
+        while (buf.hasRemaining()) {
+            int n = channel.read(buf);
+            if (n < 0) {
+                break;
+            }
+            total += n;
+        }
+        return total;
+    }
+
+    // 비정상 종료 후 복구: 각 세그먼트를 체크섬으로 검증하고 잘린 꼬리를 제거
+    private void recover() throws IOException {
+        List<Path> segments = listSegments();
+        for (Path segment : segments) {
+            long validEnd;
+            long records = 0;
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                List<ReceivedDetection> scratch = new ArrayList<>();
+                do {
+                    scratch.clear();
+                    readRecords(channel, scratch, 1024);
+                    records += scratch.size();
+                } while (!scratch.isEmpty());
+                validEnd = channel.position();
+                if (validEnd < channel.size()) {
+                    log.warn("⚠️ spool 세그먼트 {}의 손상된 꼬리 {}바이트 제거", segment.getFileName(), channel.size() - validEnd);
+                    channel.truncate(validEnd);
+                    channel.force(true);
+                }
+            }
+            if (records == 0) {
+                Files.deleteIfExists(segment);
+            }
+            nextSegmentId.set(Math.max(nextSegmentId.get(), segmentId(segment) + 1));
+        }
+    }
+
+    private void openNewSegment() throws IOException {
+        activeSegment = dir.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, nextSegmentId.getAndIncrement(), SEGMENT_SUFFIX));
+        activeChannel = FileChannel.open(activeSegment,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        unsyncedRecords = 0;
+        activeRecords = 0;
+    }
+
+    // 현재 세그먼트를 fsync 후 닫아 재처리 대상으로 전환
+    private synchronized void sealActiveSegment() throws IOException {
+        if (activeChannel == null) {
+            return;
+        }
+        sync();
+        activeChannel.close();
+        activeChannel = null;
+        activeSegment = null;
+        activeRecords = 0;
+    }
+
+    // 봉인된 세그먼트 목록 (ID 순)
+    private synchronized List<Path> listSegments() {
+        if (dir == null) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files
+                    .filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .filter(p -> !p.equals(activeSegment))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            log.warn("spool 디렉토리 조회 실패: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static long segmentId(Path segment) {
+        String name = segment.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private void probeDatabase() {
+        try {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            databaseAvailable = true;
+            log.info("✅ DB 연결 복구 확인");
+        } catch (Exception e) {
+            log.debug("DB 연결 확인 실패: {}", e.getMessage());
+        }
+    }
+}
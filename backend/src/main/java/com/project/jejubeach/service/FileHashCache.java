@@ -0,0 +1,88 @@
+package com.project.jejubeach.service;
+
+import com.project.jejubeach.util.ContentHash;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 파일 내용 해시(SHA-256) 캐시.
+ * 경로별로 (크기, 수정 시각)이 그대로면 이전에 계산한 해시를 재사용하고, 바뀌었을 때만 다시 읽습니다.
+ */
+@Component
+@Slf4j
+public class FileHashCache {
+
+    private record Entry(long size, long modified, String hash) {}
+
+    private final Map<Path, Entry> entries = new ConcurrentHashMap<>();
+    // 백그라운드에서 계산 중인 경로 (같은 파일을 여러 번 읽지 않도록)
+    private final Set<Path> computing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService hasher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "file-hasher");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public String hashOf(Path file) throws IOException {
+        Path key = file.toAbsolutePath().normalize();
+        long size = Files.size(key);
+        long modified = Files.getLastModifiedTime(key).toMillis();
+        Entry cached = entries.get(key);
+        if (cached != null && cached.size() == size && cached.modified() == modified) {
+            return cached.hash();
+        }
+        String hash = ContentHash.of(key);
+        entries.put(key, new Entry(size, modified, hash));
+        return hash;
+    }
+
+    /**
+     * 계산해 둔 해시가 현재 파일과 맞으면 바로 반환하고, 아니면 백그라운드 계산을 시작하고 빈 값을 반환합니다.
+     * 큰 영상을 처음 읽거나 파일이 바뀐 직후에도 호출 스레드(예: 분석 스케줄러)가 막히지 않습니다.
+     */
+    public Optional<String> hashIfReady(Path file) throws IOException {
+        Path key = file.toAbsolutePath().normalize();
+        long size = Files.size(key);
+        long modified = Files.getLastModifiedTime(key).toMillis();
+        Entry cached = entries.get(key);
+        if (cached != null && cached.size() == size && cached.modified() == modified) {
+            return Optional.of(cached.hash());
+        }
+        if (computing.add(key)) {
+            hasher.execute(() -> {
+                try {
+                    hashOf(key);
+                } catch (IOException e) {
+                    log.debug("파일 해시 계산 실패 ({}): {}", key, e.getMessage());
+                } finally {
+                    computing.remove(key);
+                }
+            });
+        }
+        return Optional.empty();
+    }
+
+    public void evict(Path file) {
+        entries.remove(file.toAbsolutePath().normalize());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hasher.shutdownNow();
+    }
+}
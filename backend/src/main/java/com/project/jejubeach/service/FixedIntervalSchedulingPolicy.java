@@ -0,0 +1,26 @@
+package com.project.jejubeach.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 모든 해변을 같은 간격으로 분석하는 정책 (기존 동작)
+ */
+@Component
+public class FixedIntervalSchedulingPolicy implements AnalysisSchedulingPolicy {
+
+    @Value("${ai.model.analysis-interval-seconds:30}")
+    private long intervalSeconds;
+
+    @Override
+    public String name() {
+        return "fixed";
+    }
+
+    @Override
+    public ScheduleDecision decide(BeachActivity activity) {
+        return new ScheduleDecision(Duration.ofSeconds(intervalSeconds), "고정 간격");
+    }
+}
@@ -0,0 +1,447 @@
+package com.project.jejubeach.service;
+
+import com.project.jejubeach.entity.Beach;
+import com.project.jejubeach.repository.BeachRepository;
+import com.project.jejubeach.util.ContentHash;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 해변 동영상 HLS 패키징 (video.hls.enabled).
+ * 각 해변의 videoPath 파일을 로컬 ffmpeg로 여러 화질의 HLS 세그먼트로 잘라서 {저장소}/hls/{패키지 ID}/ 아래에 만듭니다.
+ * 패키지 ID는 영상 내용 해시와 화질 설정으로 정해지므로 만들어진 파일은 바뀌지 않고, 영상이 바뀌면 새 ID로 다시 만듭니다.
+ * 화질별 재인코딩(libx264)은 CPU를 많이 쓰므로 기본값은 꺼져 있습니다.
+ */
+@Service
+@Slf4j
+public class HlsPackagingService {
+
+    public enum State { PENDING, RUNNING, READY, FAILED }
+
+    private record Variant(String name, int height, int videoKbps) {}
+
+    private record Playlist(String variant, long peakBps, long averageBps) {}
+
+    private static final Pattern PACKAGE_ID = Pattern.compile("[0-9a-f]{16}");
+    private static final Pattern VARIANT_NAME = Pattern.compile("[a-z0-9]+");
+    private static final Pattern PACKAGE_FILE = Pattern.compile("master\\.m3u8|index\\.m3u8|seg_\\d{5}\\.ts");
+    private static final String MASTER = "master.m3u8";
+    private static final String SOURCE_MARKER = "source";
+    private static final String SOURCE_VARIANT = "source";
+
+    private final VideoStorageService videoStorageService;
+    private final FileHashCache fileHashCache;
+    private final HlsSegmentCache segmentCache;
+    private final BeachRepository beachRepository;
+
+    @Value("${video.hls.enabled:false}")
+    private boolean enabled;
+
+    @Value("${video.hls.ffmpeg-path:ffmpeg}")
+    private String ffmpegPath;
+
+    @Value("${video.hls.segment-seconds:4}")
+    private int segmentSeconds;
+
+    // "높이:비디오 kbps" 목록 (예: 360:800,720:2500)
+    @Value("${video.hls.variants:360:800,720:2500}")
+    private String variantSpec;
+
+    // 이미 H.264로 인코딩된 원본은 재인코딩 없이 세그먼트만 나눈 화질도 추가
+    @Value("${video.hls.include-source:true}")
+    private boolean includeSource;
+
+    @Value("${video.hls.timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    private final Map<String, State> states = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "hls-packager");
+        t.setDaemon(true);
+        return t;
+    });
+    private List<Variant> variants = List.of();
+    private volatile boolean ffmpegAvailable;
+
+    public HlsPackagingService(VideoStorageService videoStorageService,
+                               FileHashCache fileHashCache,
+                               HlsSegmentCache segmentCache,
+                               BeachRepository beachRepository) {
+        this.videoStorageService = videoStorageService;
+        this.fileHashCache = fileHashCache;
+        this.segmentCache = segmentCache;
+        this.beachRepository = beachRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        variants = parseVariants(variantSpec);
+        ffmpegAvailable = checkFfmpeg();
+        if (!ffmpegAvailable) {
+            log.warn("⚠️ ffmpeg({})를 실행할 수 없어 HLS 패키징을 건너뜁니다. 동영상은 MP4로 전송됩니다.", ffmpegPath);
+            return;
+        }
+        try {
+            for (Beach beach : beachRepository.findByStatus(Beach.BeachStatus.ACTIVE)) {
+                scheduleInBackground(beach.getVideoPath());
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ HLS 패키징 대상 해변 조회 실패: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeachChanged(BeachChangedEvent event) {
+        scheduleInBackground(event.videoPath());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 파일 이름에 해당하는 HLS 패키지가 준비되어 있으면 ID를 반환합니다.
+     * 아직 없으면 백그라운드 패키징을 예약하고 빈 값을 반환합니다. (그동안은 MP4로 재생)
+     * 요청 스레드에서는 영상 해시를 계산하지 않으므로, 해시가 아직 없으면 백그라운드 계산만 시작하고 빈 값을 반환합니다.
+     */
+    public Optional<String> readyPackageId(String fileName) {
+        if (!enabled || !ffmpegAvailable) {
+            return Optional.empty();
+        }
+        String id = packageIdOf(fileName, false);
+        if (id == null) {
+            return Optional.empty();
+        }
+        if (Files.isRegularFile(packageDir(id).resolve(MASTER))) {
+            return Optional.of(id);
+        }
+        schedule(fileName, id);
+        return Optional.empty();
+    }
+
+    /**
+     * 패키지 안의 플레이리스트/세그먼트 경로를 찾습니다. 허용되지 않는 이름이거나 파일이 없으면 빈 값을 반환합니다.
+     */
+    public Optional<Path> resolve(String id, String variant, String file) {
+        if (!PACKAGE_ID.matcher(id).matches() || !PACKAGE_FILE.matcher(file).matches()
+                || (variant != null && !VARIANT_NAME.matcher(variant).matches())) {
+            return Optional.empty();
+        }
+        Path dir = packageDir(id);
+        Path path = variant == null ? dir.resolve(file) : dir.resolve(variant).resolve(file);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    // 해변 변경/시작 시 패키징 예약. 영상 해시 계산은 트랜잭션 완료 콜백이 아니라 패키징 스레드에서 수행
+    private void scheduleInBackground(String videoPath) {
+        if (!enabled || !ffmpegAvailable || videoPath == null || videoPath.isBlank()) {
+            return;
+        }
+        String fileName = videoPath.substring(videoPath.lastIndexOf('/') + 1);
+        executor.execute(() -> {
+            String id = packageIdOf(fileName, true);
+            if (id != null) {
+                schedule(fileName, id);
+            }
+        });
+    }
+
+    private void schedule(String fileName, String id) {
+        if (Files.isRegularFile(packageDir(id).resolve(MASTER))) {
+            return;
+        }
+        // 같은 패키지는 한 번만 예약 (실패한 패키지는 영상이나 설정이 바뀌어 ID가 달라질 때까지 다시 시도하지 않음)
+        if (states.putIfAbsent(id, State.PENDING) != null) {
+            return;
+        }
+        executor.execute(() -> build(id, fileName));
+    }
+
+    // waitForHash가 false면 캐시된 해시만 사용 (없으면 백그라운드 계산을 시작하고 null)
+    private String packageIdOf(String fileName, boolean waitForHash) {
+        Optional<VideoStorageService.VideoFile> video = videoStorageService.find(fileName);
+        if (video.isEmpty()) {
+            return null;
+        }
+        try {
+            Path path = video.get().path();
+            Optional<String> contentHash = waitForHash
+                    ? Optional.of(fileHashCache.hashOf(path))
+                    : fileHashCache.hashIfReady(path);
+            return contentHash
+                    .map(hash -> ContentHash.of(hash + ":" + variantSignature()).substring(0, 16))
+                    .orElse(null);
+        } catch (IOException e) {
+            log.debug("영상 해시 계산 실패 ({}): {}", fileName, e.getMessage());
+            return null;
+        }
+    }
+
+    private String variantSignature() {
+        return variantSpec + ":" + segmentSeconds + ":" + includeSource;
+    }
+
+    private Path hlsRoot() {
+        return videoStorageService.getRoot().resolve("hls");
+    }
+
+    private Path packageDir(String id) {
+        return hlsRoot().resolve(id);
+    }
+
+    private void build(String id, String fileName) {
+        states.put(id, State.RUNNING);
+        Path tmp = hlsRoot().resolve(id + ".tmp");
+        long started = System.currentTimeMillis();
+        try {
+            Optional<VideoStorageService.VideoFile> video = videoStorageService.find(fileName);
+            if (video.isEmpty()) {
+                throw new IOException("동영상 파일이 없습니다");
+            }
+            deleteRecursively(tmp);
+            Files.createDirectories(tmp);
+            log.info("🚀 HLS 패키징 시작: {} ({})", fileName, id);
+
+            List<Playlist> playlists = new ArrayList<>();
+            List<Variant> targets = new ArrayList<>(variants);
+            if (includeSource) {
+                targets.add(new Variant(SOURCE_VARIANT, 0, 0));
+            }
+            for (Variant variant : targets) {
+                Path variantDir = tmp.resolve(variant.name());
+                Files.createDirectories(variantDir);
+                if (runFfmpeg(video.get().path(), variant, variantDir)) {
+                    playlists.add(measureBandwidth(variant.name(), variantDir.resolve("index.m3u8")));
+                } else {
+                    deleteRecursively(variantDir);
+                }
+            }
+            if (playlists.isEmpty()) {
+                throw new IOException("만들어진 화질이 없습니다");
+            }
+
+            Files.writeString(tmp.resolve(MASTER), masterPlaylist(playlists), StandardCharsets.UTF_8);
+            Files.writeString(tmp.resolve(SOURCE_MARKER), fileName, StandardCharsets.UTF_8);
+            Files.move(tmp, packageDir(id), StandardCopyOption.ATOMIC_MOVE);
+            states.put(id, State.READY);
+            log.info("✅ HLS 패키징 완료: {} ({}개 화질, {}ms)", fileName, playlists.size(), System.currentTimeMillis() - started);
+            removeStalePackages(fileName, id);
+        } catch (IOException e) {
+            states.put(id, State.FAILED);
+            log.warn("❌ HLS 패키징 실패 ({}): {}", fileName, e.getMessage());
+            deleteQuietly(tmp);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            states.remove(id);
+            deleteQuietly(tmp);
+        }
+    }
+
+    private boolean runFfmpeg(Path input, Variant variant, Path outputDir) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of(
+                ffmpegPath, "-hide_banner", "-loglevel", "error", "-y",
+                "-i", input.toString(),
+                "-map", "0:v:0", "-map", "0:a:0?"));
+        if (SOURCE_VARIANT.equals(variant.name())) {
+            // 재인코딩 없이 키프레임 기준으로만 나눔 (H.264가 아니면 ffmpeg가 실패하고 이 화질은 빠짐)
+            command.addAll(List.of("-c", "copy", "-bsf:v", "h264_mp4toannexb"));
+        } else {
+            command.addAll(List.of(
+                    "-vf", "scale=-2:'min(" + variant.height() + ",ih)'",
+                    "-c:v", "libx264", "-preset", "veryfast", "-profile:v", "main",
+                    "-b:v", variant.videoKbps() + "k",
+                    "-maxrate", (variant.videoKbps() * 107 / 100) + "k",
+                    "-bufsize", (variant.videoKbps() * 3 / 2) + "k",
+                    // 세그먼트 경계마다 키프레임을 넣어 화질 전환이 매끄럽도록 함
+                    "-force_key_frames", "expr:gte(t,n_forced*" + segmentSeconds + ")",
+                    "-sc_threshold", "0",
+                    "-c:a", "aac", "-b:a", "96k", "-ac", "2"));
+        }
+        command.addAll(List.of(
+                "-f", "hls",
+                "-hls_time", String.valueOf(segmentSeconds),
+                "-hls_playlist_type", "vod",
+                "-hls_segment_filename", outputDir.resolve("seg_%05d.ts").toString(),
+                outputDir.resolve("index.m3u8").toString()));
+
+        // 출력은 파일로 받음 (파이프를 읽으면서 기다리면 ffmpeg가 멈췄을 때 시간 제한이 적용되지 않음)
+        Path logFile = Files.createTempFile("hls-ffmpeg-", ".log");
+        try {
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(logFile.toFile())
+                    .start();
+            if (!process.waitFor(timeoutMinutes, TimeUnit.MINUTES)) {
+                process.destroyForcibly().waitFor(10, TimeUnit.SECONDS);
+                log.warn("⚠️ HLS {} 화질 인코딩 시간 초과 ({}분)", variant.name(), timeoutMinutes);
+                return false;
+            }
+            if (process.exitValue() != 0) {
+                log.warn("⚠️ HLS {} 화질 인코딩 실패 (exit {}): {}", variant.name(), process.exitValue(), tail(logFile));
+                return false;
+            }
+            return Files.isRegularFile(outputDir.resolve("index.m3u8"));
+        } finally {
+            deleteQuietly(logFile);
+        }
+    }
+
+    // ffmpeg 오류 메시지는 마지막 부분만 로그에 남김
+    private static String tail(Path logFile) {
+        try {
+            String output = Files.readString(logFile, StandardCharsets.UTF_8).trim();
+            return output.length() > 2000 ? "..." + output.substring(output.length() - 2000) : output;
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    /**
+     * 미디어 플레이리스트의 세그먼트 크기/길이로 최대/평균 비트레이트(bps)를 계산합니다.
+     */
+    private Playlist measureBandwidth(String variant, Path playlist) throws IOException {
+        Path dir = playlist.getParent();
+        double peak = 0;
+        double totalBits = 0;
+        double totalSeconds = 0;
+        double duration = 0;
+        for (String line : Files.readAllLines(playlist, StandardCharsets.UTF_8)) {
+            if (line.startsWith("#EXTINF:")) {
+                String value = line.substring("#EXTINF:".length());
+                int comma = value.indexOf(',');
+                duration = Double.parseDouble(comma >= 0 ? value.substring(0, comma) : value);
+            } else if (!line.isBlank() && !line.startsWith("#") && duration > 0) {
+                double bits = Files.size(dir.resolve(line.trim())) * 8.0;
+                peak = Math.max(peak, bits / duration);
+                totalBits += bits;
+                totalSeconds += duration;
+                duration = 0;
+            }
+        }
+        long average = totalSeconds > 0 ? Math.round(totalBits / totalSeconds) : 0;
+        return new Playlist(variant, Math.round(peak), average);
+    }
+
+    // 낮은 화질부터 나열해서 첫 화면이 빨리 뜨도록 함 (이후 플레이어가 대역폭에 맞춰 전환)
+    private String masterPlaylist(List<Playlist> playlists) {
+        playlists.sort(Comparator.comparingLong(Playlist::peakBps));
+        StringBuilder sb = new StringBuilder("#EXTM3U\n#EXT-X-VERSION:3\n");
+        for (Playlist p : playlists) {
+            sb.append("#EXT-X-STREAM-INF:BANDWIDTH=").append(p.peakBps())
+                    .append(",AVERAGE-BANDWIDTH=").append(p.averageBps()).append('\n')
+                    .append(p.variant()).append("/index.m3u8\n");
+        }
+        return sb.toString();
+    }
+
+    // 같은 파일의 이전 패키지(영상이나 화질 설정이 바뀌기 전) 삭제
+    private void removeStalePackages(String fileName, String currentId) {
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(hlsRoot())) {
+            for (Path dir : dirs) {
+                String name = dir.getFileName().toString();
+                Path marker = dir.resolve(SOURCE_MARKER);
+                if (name.equals(currentId) || !PACKAGE_ID.matcher(name).matches() || !Files.isRegularFile(marker)) {
+                    continue;
+                }
+                if (fileName.equals(Files.readString(marker, StandardCharsets.UTF_8).trim())) {
+                    deleteRecursively(dir);
+                    segmentCache.evictUnder(dir);
+                    states.remove(name);
+                    log.info("🛑 이전 HLS 패키지 삭제: {} ({})", fileName, name);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ 이전 HLS 패키지 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    private boolean checkFfmpeg() {
+        try {
+            Process process = new ProcessBuilder(ffmpegPath, "-version").redirectErrorStream(true).start();
+            process.getInputStream().transferTo(OutputStream.nullOutputStream());
+            return process.waitFor(10, TimeUnit.SECONDS) && process.exitValue() == 0;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static List<Variant> parseVariants(String spec) {
+        List<Variant> parsed = new ArrayList<>();
+        for (String item : spec.split(",")) {
+            String[] parts = item.trim().split(":");
+            if (parts.length != 2) {
+                continue;
+            }
+            try {
+                int height = Integer.parseInt(parts[0].trim());
+                int kbps = Integer.parseInt(parts[1].trim());
+                parsed.add(new Variant(height + "p", height, kbps));
+            } catch (NumberFormatException e) {
+                log.warn("⚠️ 잘못된 HLS 화질 설정 무시: {}", item);
+            }
+        }
+        return parsed;
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path dir) {
+        try {
+            deleteRecursively(dir);
+        } catch (IOException e) {
+            log.debug("임시 디렉토리 삭제 실패 ({}): {}", dir, e.getMessage());
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("ffmpegAvailable", ffmpegAvailable);
+        Map<String, Long> byState = new HashMap<>();
+        states.values().forEach(s -> byState.merge(s.name(), 1L, Long::sum));
+        stats.put("packages", byState);
+        stats.put("segmentCache", segmentCache.getStats());
+        return stats;
+    }
+}
@@ -0,0 +1,96 @@
+package com.project.jejubeach.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * HLS 플레이리스트/세그먼트 메모리 캐시 (LRU, 전체 바이트 수 기준).
+ * 세그먼트 경로는 영상 내용 해시를 포함해서 한 번 만들어지면 바뀌지 않으므로 무효화 없이 크기 제한만 둡니다.
+ */
+@Component
+public class HlsSegmentCache {
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    @Value("${video.hls.cache-max-bytes:67108864}")
+    private long maxBytes;
+
+    // 이보다 큰 파일은 캐시하지 않고 매번 디스크에서 읽음
+    @Value("${video.hls.cache-max-entry-bytes:4194304}")
+    private long maxEntryBytes;
+
+    private final LinkedHashMap<Path, byte[]> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    public HlsSegmentCache(MeterRegistry meterRegistry) {
+        this.hitCounter = meterRegistry.counter("video.hls.cache.hits");
+        this.missCounter = meterRegistry.counter("video.hls.cache.misses");
+    }
+
+    public byte[] get(Path file) throws IOException {
+        synchronized (entries) {
+            byte[] cached = entries.get(file);
+            if (cached != null) {
+                hitCounter.increment();
+                return cached;
+            }
+        }
+        missCounter.increment();
+        byte[] data = Files.readAllBytes(file);
+        if (data.length <= maxEntryBytes) {
+            put(file, data);
+        }
+        return data;
+    }
+
+    private void put(Path file, byte[] data) {
+        synchronized (entries) {
+            byte[] previous = entries.put(file, data);
+            totalBytes += data.length - (previous == null ? 0 : previous.length);
+            Iterator<byte[]> eldest = entries.values().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                totalBytes -= eldest.next().length;
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * 삭제된 패키지 디렉토리의 항목을 제거합니다.
+     */
+    public void evictUnder(Path dir) {
+        synchronized (entries) {
+            Iterator<Map.Entry<Path, byte[]>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Path, byte[]> entry = it.next();
+                if (entry.getKey().startsWith(dir)) {
+                    totalBytes -= entry.getValue().length;
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        synchronized (entries) {
+            stats.put("entries", entries.size());
+            stats.put("bytes", totalBytes);
+        }
+        stats.put("maxBytes", maxBytes);
+        stats.put("hits", (long) hitCounter.count());
+        stats.put("misses", (long) missCounter.count());
+        return stats;
+    }
+}
@@ -0,0 +1,30 @@
+package com.project.jejubeach.service;
+
+import org.springframework.stereotype.Component;
+
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 동영상 파일별로 가장 최근에 분석한 프레임을 보관합니다. (실시간 포스터용)
+ * 분석 한 번에 한 프레임만 갱신되므로 포스터도 분석 주기보다 자주 바뀌지 않습니다.
+ */
+@Component
+public class LiveFrameStore {
+
+    public record Frame(BufferedImage image, long seq, long capturedAt) {}
+
+    private final Map<String, Frame> frames = new ConcurrentHashMap<>();
+    private final AtomicLong seq = new AtomicLong();
+
+    public void publish(String fileName, BufferedImage image) {
+        frames.put(fileName, new Frame(image, seq.incrementAndGet(), System.currentTimeMillis()));
+    }
+
+    public Optional<Frame> latest(String fileName) {
+        return Optional.ofNullable(frames.get(fileName));
+    }
+}
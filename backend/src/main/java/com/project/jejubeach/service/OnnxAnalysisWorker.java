@@ -0,0 +1,88 @@
+package com.project.jejubeach.service;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OnnxDetectionEngine}으로 분석하는 JVM 내장 워커.
+ * 워커마다 추론 스레드 하나와 입력 버퍼 하나를 가지며, 모델 세션은 엔진이 공유합니다.
+ */
+public class OnnxAnalysisWorker implements AnalysisWorker {
+
+    private final String name;
+    private final OnnxDetectionEngine engine;
+    private final Path workingDir;
+    private final int intraOpThreads;
+    private final ExecutorService executor;
+    // 추론 스레드에서만 사용
+    private final float[] input;
+
+    public OnnxAnalysisWorker(String name, OnnxDetectionEngine engine, Path workingDir, int intraOpThreads) {
+        this.name = name;
+        this.engine = engine;
+        this.workingDir = workingDir;
+        this.intraOpThreads = intraOpThreads;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, name + "-inference");
+            t.setDaemon(true);
+            return t;
+        });
+        int size = engine.getInputSize();
+        this.input = new float[3 * size * size];
+    }
+
+    @Override
+    public List<AIWorkerProcess.BeachTarget> awaitReady(long timeout, TimeUnit unit) throws Exception {
+        engine.load(workingDir, intraOpThreads);
+        return engine.defaultTargets(workingDir);
+    }
+
+    @Override
+    public CompletableFuture<AIWorkerProcess.AnalysisResult> analyze(AIWorkerProcess.BeachTarget target) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return engine.analyze(target, name, input);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new IllegalStateException(name + " 워커 종료됨"));
+        }
+    }
+
+    @Override
+    public boolean isAlive() {
+        return !executor.isShutdown();
+    }
+
+    @Override
+    public Long pid() {
+        return ProcessHandle.current().pid();
+    }
+
+    @Override
+    public void kill() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.project.jejubeach.service;
+
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jcodec.api.FrameGrab;
+import org.jcodec.api.JCodecException;
+import org.jcodec.common.io.NIOUtils;
+import org.jcodec.common.io.SeekableByteChannel;
+import org.jcodec.common.model.Picture;
+import org.jcodec.scale.AWTUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * JVM 내장 YOLOv8 탐지 엔진 (ai.model.engine=onnx).
+ * JCodec으로 영상을 디코딩하고 ONNX Runtime(CPU)으로 yolov8n.onnx를 실행해
+ * Python 워커의 analyze_video와 같은 방식(약 100프레임 샘플링, 프레임 평균)으로 사람 수와 쓰러진 사람 수를 계산합니다.
+ * 세션은 모든 ONNX 워커가 공유하고 (OrtSession.run은 스레드 안전), 입력 버퍼는 워커별로 씁니다.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OnnxDetectionEngine {
+
+    private static final int PERSON_CLASS_ROW = 4;   // [cx, cy, w, h, class0(person), ...]
+    private static final int LETTERBOX_PAD = 114;
+    private static final String CAMERA_SOURCE_SUFFIX = "_camera_01";
+
+    private final AIModelLogBuffer logBuffer;
+    private final LiveFrameStore liveFrameStore;
+
+    @Value("${ai.model.onnx.model-path:yolov8n.onnx}")
+    private String modelPath;
+
+    @Value("${ai.model.onnx.imgsz:640}")
+    private int imgsz;
+
+    @Value("${ai.model.onnx.conf:0.35}")
+    private float confThreshold;
+
+    @Value("${ai.model.onnx.iou:0.5}")
+    private float iouThreshold;
+
+    // 영상 하나에서 분석할 최대 프레임 수 (Python 워커와 같은 100프레임)
+    @Value("${ai.model.onnx.max-frames:100}")
+    private int maxFrames;
+
+    // 쓰러짐 판정 (Python compute_aspect_fall과 같은 기준)
+    @Value("${ai.model.onnx.fall-ratio:1.8}")
+    private double fallRatio;
+
+    @Value("${ai.model.onnx.fall-max-height-ratio:0.35}")
+    private double fallMaxHeightRatio;
+
+    private OrtEnvironment environment;
+    private volatile OrtSession session;
+    private String inputName;
+    private Path loadedModel;
+
+    public int getInputSize() {
+        return imgsz;
+    }
+
+    /**
+     * 모델을 읽어 세션을 만듭니다. 이미 같은 모델이 로드되어 있으면 재사용합니다.
+     * model-path가 상대 경로면 AI 작업 디렉토리 기준으로 찾습니다.
+     */
+    public synchronized void load(Path workingDir, int intraOpThreads) throws OrtException, IOException {
+        Path model = resolveModel(workingDir);
+        if (session != null && model.equals(loadedModel)) {
+            return;
+        }
+        if (!Files.exists(model)) {
+            throw new IOException("ONNX 모델 파일을 찾을 수 없습니다: " + model);
+        }
+        closeSession();
+        environment = OrtEnvironment.getEnvironment();
+        try (OrtSession.SessionOptions options = new OrtSession.SessionOptions()) {
+            options.setOptimizationLevel(OrtSession.SessionOptions.OptLevel.ALL_OPT);
+            options.setIntraOpNumThreads(Math.max(1, intraOpThreads));
+            session = environment.createSession(model.toString(), options);
+        }
+        inputName = session.getInputNames().iterator().next();
+        loadedModel = model;
+        log.info("✅ ONNX 모델 로딩 완료: {} (입력 {}, 추론 스레드 {})", model, inputName, intraOpThreads);
+    }
+
+    public Path resolveModel(Path workingDir) {
+        return workingDir.resolve(modelPath).toAbsolutePath().normalize();
+    }
+
+    // 분석 결과에 영향을 주는 설정 (결과 캐시 키에 사용)
+    public String getParameterSignature() {
+        return String.format("imgsz=%d,conf=%s,iou=%s,maxFrames=%d,fallRatio=%s,fallMaxHeightRatio=%s",
+                imgsz, confThreshold, iouThreshold, maxFrames, fallRatio, fallMaxHeightRatio);
+    }
+
+    public boolean isLoaded() {
+        return session != null;
+    }
+
+    /**
+     * 작업 디렉토리의 *_beach.mp4 파일로 기본 해변 목록을 만듭니다. (DB에 분석 대상이 없을 때 사용)
+     */
+    public List<AIWorkerProcess.BeachTarget> defaultTargets(Path videoDir) {
+        List<AIWorkerProcess.BeachTarget> targets = new ArrayList<>();
+        try (Stream<Path> files = Files.list(videoDir)) {
+            files.filter(f -> f.getFileName().toString().endsWith("_beach.mp4"))
+                    .sorted()
+                    .forEach(f -> {
+                        String key = f.getFileName().toString().replace("_beach.mp4", "");
+                        targets.add(new AIWorkerProcess.BeachTarget(key, key + CAMERA_SOURCE_SUFFIX, f.toString()));
+                    });
+        } catch (IOException e) {
+            log.warn("⚠️ 기본 해변 영상 목록 조회 실패: {}", e.getMessage());
+        }
+        return targets;
+    }
+
+    /**
+     * 영상 하나를 분석합니다. input은 호출 스레드 전용 입력 버퍼(3 × imgsz × imgsz)입니다.
+     */
+    public AIWorkerProcess.AnalysisResult analyze(AIWorkerProcess.BeachTarget target, String worker, float[] input)
+            throws IOException, JCodecException, OrtException {
+        OrtSession current = session;
+        if (current == null) {
+            throw new IllegalStateException("ONNX 모델이 로드되지 않았습니다.");
+        }
+        long started = System.currentTimeMillis();
+        long inferenceNanos = 0;
+        int totalVisible = 0;
+        int totalFallen = 0;
+        int processed = 0;
+        BufferedImage lastFrame = null;
+
+        try (SeekableByteChannel channel = NIOUtils.readableChannel(Path.of(target.videoPath()).toFile())) {
+            FrameGrab grab = FrameGrab.createFrameGrab(channel);
+            int totalFrames = Math.max(1, grab.getVideoTrack().getMeta().getTotalFrames());
+            int stride = Math.max(1, totalFrames / maxFrames);
+
+            Picture picture;
+            int frameIndex = 0;
+            // H.264는 앞 프레임을 참조하므로 모든 프레임을 디코딩하고, 샘플 프레임만 RGB 변환/추론
+            while (processed < maxFrames && (picture = grab.getNativeFrame()) != null) {
+                if (frameIndex++ % stride != 0) {
+                    continue;
+                }
+                BufferedImage frame = AWTUtil.toBufferedImage(picture);
+                Letterbox box = letterbox(frame, input);
+
+                long t0 = System.nanoTime();
+                List<float[]> detections = detect(current, input, box, frame.getWidth(), frame.getHeight());
+                inferenceNanos += System.nanoTime() - t0;
+
+                int fallen = 0;
+                for (float[] d : detections) {
+                    if (isFallen(d[0], d[1], d[2], d[3], frame.getHeight())) {
+                        fallen++;
+                    }
+                }
+                totalVisible += detections.size();
+                totalFallen += fallen;
+                processed++;
+                lastFrame = frame;
+            }
+        }
+        if (lastFrame != null) {
+            liveFrameStore.publish(Path.of(target.videoPath()).getFileName().toString(), lastFrame);
+        }
+
+        int personCount = totalVisible / Math.max(1, processed);
+        int fallenCount = totalFallen / Math.max(1, processed);
+        long elapsedMs = System.currentTimeMillis() - started;
+        logBuffer.append(worker, String.format("[INFO] %s: 평균 %d명, 쓰러진 사람 %d명 (%d프레임, %dms)",
+                target.name(), personCount, fallenCount, processed, elapsedMs));
+        return new AIWorkerProcess.AnalysisResult(target.source(), personCount, fallenCount, elapsedMs,
+                processed, inferenceNanos / 1_000_000);
+    }
+
+    // Python compute_aspect_fall: 가로로 긴 박스(폭/높이 ≥ fall-ratio)이면서 프레임 대비 높이가 낮으면 쓰러짐
+    // Python처럼 좌표를 정수로 자른 뒤(map(int, ...)) double로 나눠서 경계값에서도 같은 결과가 나오도록 함
+    boolean isFallen(float l, float t, float r, float b, int frameHeight) {
+        double w = Math.max(1, (int) r - (int) l);
+        double h = Math.max(1, (int) b - (int) t);
+        return w / h >= fallRatio && h / Math.max(1, frameHeight) <= fallMaxHeightRatio;
+    }
+
+    private record Letterbox(float scale, int padX, int padY) {}
+
+    // 비율을 유지한 채 imgsz 정사각형에 맞추고 남는 부분은 회색으로 채운 뒤 CHW RGB [0,1]로 변환
+    private Letterbox letterbox(BufferedImage frame, float[] input) {
+        int width = frame.getWidth();
+        int height = frame.getHeight();
+        float scale = Math.min((float) imgsz / width, (float) imgsz / height);
+        int newW = Math.round(width * scale);
+        int newH = Math.round(height * scale);
+        int padX = (imgsz - newW) / 2;
+        int padY = (imgsz - newH) / 2;
+
+        BufferedImage canvas = new BufferedImage(imgsz, imgsz, BufferedImage.TYPE_3BYTE_BGR);
+        Graphics2D g = canvas.createGraphics();
+        try {
+            g.setColor(new Color(LETTERBOX_PAD, LETTERBOX_PAD, LETTERBOX_PAD));
+            g.fillRect(0, 0, imgsz, imgsz);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(frame, padX, padY, newW, newH, null);
+        } finally {
+            g.dispose();
+        }
+
+        byte[] bgr = ((DataBufferByte) canvas.getRaster().getDataBuffer()).getData();
+        int plane = imgsz * imgsz;
+        for (int i = 0; i < plane; i++) {
+            input[i] = (bgr[i * 3 + 2] & 0xFF) / 255f;             // R
+            input[plane + i] = (bgr[i * 3 + 1] & 0xFF) / 255f;     // G
+            input[2 * plane + i] = (bgr[i * 3] & 0xFF) / 255f;     // B
+        }
+        return new Letterbox(scale, padX, padY);
+    }
+
+    // 사람 클래스 점수만 보고 원본 좌표의 [l, t, r, b, score] 목록을 NMS 후 반환
+    private List<float[]> detect(OrtSession current, float[] input, Letterbox box, int width, int height)
+            throws OrtException {
+        long[] shape = {1, 3, imgsz, imgsz};
+        try (OnnxTensor tensor = OnnxTensor.createTensor(environment, FloatBuffer.wrap(input), shape);
+             OrtSession.Result result = current.run(Map.of(inputName, tensor))) {
+            OnnxTensor output = (OnnxTensor) result.get(0);
+            long[] outShape = output.getInfo().getShape();
+            FloatBuffer values = output.getFloatBuffer();
+            // 기본 export는 [1, 84, 8400], 일부 export는 [1, 8400, 84]
+            boolean channelsFirst = outShape[1] < outShape[2];
+            int channels = (int) (channelsFirst ? outShape[1] : outShape[2]);
+            int anchors = (int) (channelsFirst ? outShape[2] : outShape[1]);
+
+            List<float[]> candidates = new ArrayList<>();
+            for (int i = 0; i < anchors; i++) {
+                float score = channelsFirst ? values.get(PERSON_CLASS_ROW * anchors + i) : values.get(i * channels + PERSON_CLASS_ROW);
+                if (score < confThreshold) {
+                    continue;
+                }
+                float cx = channelsFirst ? values.get(i) : values.get(i * channels);
+                float cy = channelsFirst ? values.get(anchors + i) : values.get(i * channels + 1);
+                float w = channelsFirst ? values.get(2 * anchors + i) : values.get(i * channels + 2);
+                float h = channelsFirst ? values.get(3 * anchors + i) : values.get(i * channels + 3);
+                float l = clamp((cx - w / 2 - box.padX()) / box.scale(), width);
+                float t = clamp((cy - h / 2 - box.padY()) / box.scale(), height);
+                float r = clamp((cx + w / 2 - box.padX()) / box.scale(), width);
+                float b = clamp((cy + h / 2 - box.padY()) / box.scale(), height);
+                candidates.add(new float[]{l, t, r, b, score});
+            }
+            return nonMaxSuppression(candidates);
+        }
+    }
+
+    private List<float[]> nonMaxSuppression(List<float[]> candidates) {
+        candidates.sort(Comparator.comparingDouble((float[] d) -> d[4]).reversed());
+        List<float[]> kept = new ArrayList<>();
+        for (float[] candidate : candidates) {
+            boolean overlaps = false;
+            for (float[] k : kept) {
+                if (iou(candidate, k) > iouThreshold) {
+                    overlaps = true;
+                    break;
+                }
+            }
+            if (!overlaps) {
+                kept.add(candidate);
+            }
+        }
+        return kept;
+    }
+
+    private static float iou(float[] a, float[] b) {
+        float w = Math.max(0, Math.min(a[2], b[2]) - Math.max(a[0], b[0]));
+        float h = Math.max(0, Math.min(a[3], b[3]) - Math.max(a[1], b[1]));
+        float inter = w * h;
+        float union = (a[2] - a[0]) * (a[3] - a[1]) + (b[2] - b[0]) * (b[3] - b[1]) - inter;
+        return union <= 0 ? 0 : inter / union;
+    }
+
+    private static float clamp(float v, int max) {
+        return Math.max(0, Math.min(max, v));
+    }
+
+    private synchronized void closeSession() {
+        if (session != null) {
+            try {
+                session.close();
+            } catch (OrtException e) {
+                log.debug("ONNX 세션 종료 실패: {}", e.getMessage());
+            }
+            session = null;
+            loadedModel = null;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        closeSession();
+    }
+}
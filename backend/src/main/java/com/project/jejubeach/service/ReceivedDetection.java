@@ -0,0 +1,15 @@
+package com.project.jejubeach.service;
+
+import com.project.jejubeach.dto.DetectionCreateReq;
+
+import java.time.LocalDateTime;
+
+/**
+ * 수신 시각이 기록된 탐지 요청. 비동기 저장 시에도 실제 수신 시각으로 created_at을 기록합니다.
+ */
+public record ReceivedDetection(DetectionCreateReq request, LocalDateTime receivedAt) {
+
+    public static ReceivedDetection now(DetectionCreateReq request) {
+        return new ReceivedDetection(request, LocalDateTime.now());
+    }
+}
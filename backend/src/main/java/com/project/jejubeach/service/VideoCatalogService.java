@@ -0,0 +1,159 @@
+package com.project.jejubeach.service;
+
+import com.project.jejubeach.dto.BeachVideo;
+import com.project.jejubeach.entity.Beach;
+import com.project.jejubeach.util.ContentHash;
+import com.project.jejubeach.util.Mp4Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 해변 동영상 카탈로그.
+ * 활성 해변의 videoPath와 동영상 저장소의 파일 정보(크기, 재생 시간, 내용 해시)로 목록을 만들고 메모리에 보관합니다.
+ * 해변이 바뀌면 바로 다시 만들고, 해변 변경 없이 파일만 교체된 경우는 ttl-seconds 안에 반영됩니다.
+ */
+@Service
+@Slf4j
+public class VideoCatalogService {
+
+    public record Catalog(List<BeachVideo> videos, List<VideoStorageService.VideoFile> files, String etag, long builtAt) {}
+
+    private record CachedDuration(String contentHash, Double seconds) {}
+
+    private final BeachCatalogCache beachCatalogCache;
+    private final BeachAliasService aliasService;
+    private final VideoStorageService videoStorageService;
+    private final FileHashCache fileHashCache;
+
+    @Value("${video.catalog.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    private volatile Catalog catalog;
+    // 목록을 만드는 중에 해변이 바뀌면 만든 목록을 저장하지 않도록 구분
+    private final AtomicLong generation = new AtomicLong();
+    // 재생 시간은 파일 내용이 같으면 다시 읽지 않음
+    private final Map<String, CachedDuration> durations = new ConcurrentHashMap<>();
+
+    public VideoCatalogService(BeachCatalogCache beachCatalogCache,
+                               BeachAliasService aliasService,
+                               VideoStorageService videoStorageService,
+                               FileHashCache fileHashCache) {
+        this.beachCatalogCache = beachCatalogCache;
+        this.aliasService = aliasService;
+        this.videoStorageService = videoStorageService;
+        this.fileHashCache = fileHashCache;
+    }
+
+    public Catalog getCatalog() {
+        Catalog current = catalog;
+        if (current != null && System.currentTimeMillis() - current.builtAt() < ttlSeconds * 1000) {
+            return current;
+        }
+        synchronized (this) {
+            current = catalog;
+            if (current != null && System.currentTimeMillis() - current.builtAt() < ttlSeconds * 1000) {
+                return current;
+            }
+            long startedGeneration = generation.get();
+            try {
+                Catalog built = build();
+                if (startedGeneration == generation.get()) {
+                    catalog = built;
+                }
+                return built;
+            } catch (RuntimeException e) {
+                if (current == null) {
+                    throw e;
+                }
+                log.warn("⚠️ 동영상 목록 갱신 실패, 직전 목록 사용: {}", e.getMessage());
+                return current;
+            }
+        }
+    }
+
+    /**
+     * 카탈로그 ID(해변 키) 또는 해변 ID로 동영상을 찾습니다.
+     */
+    public Optional<BeachVideo> findVideo(String id) {
+        return getCatalog().videos().stream()
+                .filter(v -> v.getId().equals(id) || String.valueOf(v.getBeachId()).equals(id))
+                .findFirst();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeachChanged(BeachChangedEvent event) {
+        generation.incrementAndGet();
+        catalog = null;
+    }
+
+    private Catalog build() {
+        List<BeachVideo> videos = new ArrayList<>();
+        List<VideoStorageService.VideoFile> files = new ArrayList<>();
+        StringBuilder signature = new StringBuilder();
+        for (Beach beach : beachCatalogCache.getByStatus(Beach.BeachStatus.ACTIVE)) {
+            String videoPath = beach.getVideoPath();
+            if (videoPath == null || videoPath.isBlank()) {
+                continue;
+            }
+            String fileName = videoPath.substring(videoPath.lastIndexOf('/') + 1);
+            Optional<VideoStorageService.VideoFile> found = videoStorageService.find(fileName);
+            if (found.isEmpty()) {
+                // 아직 업로드되지 않은 동영상은 목록에서 제외
+                continue;
+            }
+            VideoStorageService.VideoFile file = found.get();
+            String contentHash;
+            try {
+                contentHash = fileHashCache.hashOf(file.path());
+            } catch (IOException e) {
+                log.warn("⚠️ 동영상 해시 계산 실패 ({}): {}", fileName, e.getMessage());
+                continue;
+            }
+            String key = aliasService.getBeachKey(beach.getId());
+            if (key == null) {
+                key = BeachAliasService.normalizeSourceKey(fileName);
+            }
+
+            BeachVideo video = new BeachVideo(key, fileName, beach.getName(), beach.getDescription(), "/videos/" + fileName);
+            video.setBeachId(beach.getId());
+            video.setSize(file.size());
+            video.setDurationSeconds(durationOf(file, contentHash));
+            video.setContentHash(contentHash);
+            // 내용 해시를 붙여 영상이 바뀌면 주소도 바뀌도록 함 (포스터를 오래 캐시할 수 있음)
+            video.setPosterUrl("/api/videos/" + key + "/poster?v=" + contentHash.substring(0, 16));
+            videos.add(video);
+            files.add(file);
+            signature.append(beach.getId()).append('|').append(key).append('|').append(fileName).append('|')
+                    .append(contentHash).append('|').append(beach.getName()).append('|')
+                    .append(beach.getDescription()).append('\n');
+        }
+        String etag = "\"" + ContentHash.of(signature.toString()).substring(0, 32) + "\"";
+        return new Catalog(List.copyOf(videos), List.copyOf(files), etag, System.currentTimeMillis());
+    }
+
+    private Double durationOf(VideoStorageService.VideoFile file, String contentHash) {
+        String name = file.path().getFileName().toString();
+        CachedDuration cached = durations.get(name);
+        if (cached != null && cached.contentHash().equals(contentHash)) {
+            return cached.seconds();
+        }
+        Double seconds = null;
+        try {
+            seconds = Mp4Duration.of(file.path()).orElse(null);
+        } catch (IOException e) {
+            log.debug("동영상 재생 시간 읽기 실패 ({}): {}", name, e.getMessage());
+        }
+        durations.put(name, new CachedDuration(contentHash, seconds));
+        return seconds;
+    }
+}
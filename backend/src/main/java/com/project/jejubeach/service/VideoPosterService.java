@@ -0,0 +1,208 @@
+package com.project.jejubeach.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jcodec.api.FrameGrab;
+import org.jcodec.api.JCodecException;
+import org.jcodec.common.io.NIOUtils;
+import org.jcodec.common.io.SeekableByteChannel;
+import org.jcodec.common.model.Picture;
+import org.jcodec.scale.AWTUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * 해변 동영상 포스터(미리보기 이미지) 생성.
+ * 정적 포스터는 영상의 키프레임 하나를 지정한 폭으로 줄여 JPEG로 만들고, {저장소}/posters/{내용 해시}-{폭}.jpg에 보관합니다.
+ * 실시간 포스터는 가장 최근에 분석한 프레임으로 만들며, 새 프레임이 들어왔을 때만(분석 주기마다 최대 한 번) 다시 인코딩합니다.
+ */
+@Service
+@Slf4j
+public class VideoPosterService {
+
+    // 허용하는 폭 (요청 폭은 이 중 가장 가까운 큰 값으로 맞춰 캐시 파일 수를 제한)
+    private static final List<Integer> WIDTHS = List.of(160, 320, 480, 640, 960, 1280);
+    public static final int DEFAULT_WIDTH = 320;
+
+    public record Poster(byte[] jpeg, String etag) {}
+
+    private record LivePoster(long frameSeq, Poster poster) {}
+
+    private final VideoStorageService videoStorageService;
+    private final LiveFrameStore liveFrameStore;
+
+    @Value("${video.poster.offset-seconds:1.0}")
+    private double offsetSeconds;
+
+    @Value("${video.poster.quality:0.8}")
+    private float quality;
+
+    // 캐시 디렉토리에 남길 최대 파일 수 (넘으면 오래된 파일부터 삭제)
+    @Value("${video.poster.max-files:500}")
+    private int maxFiles;
+
+    // 포스터 키별 잠금 (키 수는 영상 내용 해시 수 × 폭 수로 제한됨)
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+    private final Map<String, LivePoster> livePosters = new ConcurrentHashMap<>();
+
+    public VideoPosterService(VideoStorageService videoStorageService, LiveFrameStore liveFrameStore) {
+        this.videoStorageService = videoStorageService;
+        this.liveFrameStore = liveFrameStore;
+    }
+
+    public static int normalizeWidth(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_WIDTH;
+        }
+        for (int width : WIDTHS) {
+            if (requested <= width) {
+                return width;
+            }
+        }
+        return WIDTHS.get(WIDTHS.size() - 1);
+    }
+
+    /**
+     * 정적 포스터를 반환합니다. 캐시 파일이 없을 때만 영상을 디코딩합니다.
+     */
+    public Optional<Poster> poster(VideoStorageService.VideoFile video, String contentHash, int width) throws IOException {
+        String key = contentHash.substring(0, 16) + "-" + width;
+        Path file = posterDir().resolve(key + ".jpg");
+        String etag = "\"" + key + "\"";
+        if (Files.isRegularFile(file)) {
+            return Optional.of(new Poster(Files.readAllBytes(file), etag));
+        }
+        // 같은 포스터를 동시에 여러 번 만들지 않도록 키별로 잠금
+        // (잠금 객체는 지우지 않음: 지우면 기다리던 요청과 새 요청이 서로 다른 객체로 잠가 동시에 디코딩할 수 있음)
+        synchronized (locks.computeIfAbsent(key, k -> new Object())) {
+            if (Files.isRegularFile(file)) {
+                return Optional.of(new Poster(Files.readAllBytes(file), etag));
+            }
+            Optional<BufferedImage> frame = grabKeyframe(video.path());
+            if (frame.isEmpty()) {
+                return Optional.empty();
+            }
+            byte[] jpeg = encode(scale(frame.get(), width));
+            Files.createDirectories(file.getParent());
+            Path part = Files.createTempFile(file.getParent(), key, ".part");
+            Files.write(part, jpeg);
+            Files.move(part, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            prune();
+            log.debug("포스터 생성: {} ({}px)", video.path().getFileName(), width);
+            return Optional.of(new Poster(jpeg, etag));
+        }
+    }
+
+    /**
+     * 가장 최근 분석 프레임으로 만든 실시간 포스터를 반환합니다. 분석된 프레임이 없으면 빈 값을 반환합니다.
+     */
+    public Optional<Poster> livePoster(String fileName, int width) throws IOException {
+        Optional<LiveFrameStore.Frame> frame = liveFrameStore.latest(fileName);
+        if (frame.isEmpty()) {
+            return Optional.empty();
+        }
+        String key = fileName + "-" + width;
+        LivePoster cached = livePosters.get(key);
+        if (cached != null && cached.frameSeq() == frame.get().seq()) {
+            return Optional.of(cached.poster());
+        }
+        byte[] jpeg = encode(scale(frame.get().image(), width));
+        Poster poster = new Poster(jpeg, "\"live-" + frame.get().seq() + "-" + width + "\"");
+        livePosters.put(key, new LivePoster(frame.get().seq(), poster));
+        return Optional.of(poster);
+    }
+
+    private Path posterDir() {
+        return videoStorageService.getRoot().resolve("posters");
+    }
+
+    // offset-seconds 근처의 키프레임 (영상이 그보다 짧으면 첫 프레임)
+    private Optional<BufferedImage> grabKeyframe(Path video) throws IOException {
+        try (SeekableByteChannel channel = NIOUtils.readableChannel(video.toFile())) {
+            FrameGrab grab = FrameGrab.createFrameGrab(channel);
+            double duration = grab.getVideoTrack().getMeta().getTotalDuration();
+            if (offsetSeconds > 0 && duration > offsetSeconds) {
+                // sloppy seek은 요청 시각 이전의 키프레임으로 이동하므로 참조 프레임 없이 바로 디코딩 가능
+                grab.seekToSecondSloppy(offsetSeconds);
+            }
+            Picture picture = grab.getNativeFrame();
+            return picture == null ? Optional.empty() : Optional.of(AWTUtil.toBufferedImage(picture));
+        } catch (JCodecException | RuntimeException e) {
+            log.warn("⚠️ 포스터 프레임 추출 실패 ({}): {}", video.getFileName(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    // 비율을 유지해서 폭을 줄임 (원본보다 크게 늘리지는 않음)
+    private static BufferedImage scale(BufferedImage source, int width) {
+        if (source.getWidth() <= width) {
+            return source;
+        }
+        int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private void prune() {
+        try (Stream<Path> files = Files.list(posterDir())) {
+            List<Path> posters = files.filter(f -> f.getFileName().toString().endsWith(".jpg"))
+                    .sorted(Comparator.comparingLong(VideoPosterService::modifiedTime))
+                    .toList();
+            for (int i = 0; i < posters.size() - maxFiles; i++) {
+                Files.deleteIfExists(posters.get(i));
+            }
+        } catch (IOException e) {
+            log.debug("포스터 캐시 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    private static long modifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
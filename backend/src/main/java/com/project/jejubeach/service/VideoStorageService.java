@@ -0,0 +1,125 @@
+package com.project.jejubeach.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 해변 동영상 저장소 (video.storage-dir).
+ * 동영상은 디스크에서 바로 스트리밍하고, 디렉토리에 없는 파일은 시작 시 JAR 내부(classpath:/videos/)에서 한 번만 복사합니다.
+ */
+@Service
+@Slf4j
+public class VideoStorageService {
+
+    // 경로 조작 방지: 디렉토리 구분자 없는 단순 파일 이름만 허용
+    private static final Pattern SAFE_FILE_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]*\\.(mp4|m4v|webm)");
+
+    public record VideoFile(Path path, long size, long lastModified) {
+
+        // 크기와 수정 시각 기반 ETag (파일이 바뀌면 달라짐)
+        public String etag() {
+            return "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+        }
+    }
+
+    @Value("${video.storage-dir:./videos}")
+    private String storageDir;
+
+    @Value("${video.seed-from-classpath:true}")
+    private boolean seedFromClasspath;
+
+    private Path root;
+
+    @PostConstruct
+    void init() throws IOException {
+        root = Paths.get(storageDir).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+        log.info("📁 동영상 저장소: {}", root);
+        if (seedFromClasspath) {
+            seed();
+        }
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    /**
+     * 파일 이름으로 동영상을 찾습니다. 허용되지 않는 이름이거나 파일이 없으면 빈 값을 반환합니다.
+     */
+    public Optional<VideoFile> find(String fileName) {
+        if (fileName == null || !SAFE_FILE_NAME.matcher(fileName).matches()) {
+            return Optional.empty();
+        }
+        Path file = root.resolve(fileName).normalize();
+        if (!file.startsWith(root) || !Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new VideoFile(file, Files.size(file), Files.getLastModifiedTime(file).toMillis()));
+        } catch (IOException e) {
+            log.warn("동영상 파일 정보 조회 실패 ({}): {}", fileName, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 저장소에 있는 모든 동영상 파일을 이름순으로 반환합니다.
+     */
+    public List<VideoFile> list() {
+        try (Stream<Path> files = Files.list(root)) {
+            return files.map(f -> f.getFileName().toString())
+                    .sorted()
+                    .map(this::find)
+                    .flatMap(Optional::stream)
+                    .toList();
+        } catch (IOException e) {
+            log.warn("⚠️ 동영상 저장소 조회 실패: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    // JAR에 포함된 동영상 중 저장소에 없는 것만 복사 (이미 있는 파일은 덮어쓰지 않음)
+    private void seed() {
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver().getResources("classpath*:/videos/*.mp4");
+            int copied = 0;
+            for (Resource resource : resources) {
+                String name = resource.getFilename();
+                if (name == null || !SAFE_FILE_NAME.matcher(name).matches()) {
+                    continue;
+                }
+                Path target = root.resolve(name);
+                if (Files.exists(target)) {
+                    continue;
+                }
+                Path part = root.resolve(name + ".part");
+                try (InputStream in = resource.getInputStream()) {
+                    Files.copy(in, part, StandardCopyOption.REPLACE_EXISTING);
+                }
+                Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+                copied++;
+            }
+            if (copied > 0) {
+                log.info("✅ JAR 내부 동영상 {}개를 저장소로 복사했습니다.", copied);
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ JAR 내부 동영상 복사 실패: {}", e.getMessage());
+        }
+    }
+}
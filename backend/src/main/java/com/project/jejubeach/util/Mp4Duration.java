@@ -0,0 +1,109 @@
+package com.project.jejubeach.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * MP4 재생 시간 읽기 유틸리티.
+ * moov/mvhd 박스 헤더만 읽으므로 영상 데이터를 디코딩하거나 파일 전체를 읽지 않습니다.
+ */
+public final class Mp4Duration {
+
+    private Mp4Duration() {
+    }
+
+    /**
+     * 재생 시간(초)을 반환합니다. MP4가 아니거나 mvhd 박스를 찾지 못하면 빈 값을 반환합니다.
+     */
+    public static Optional<Double> of(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long moov = findBox(channel, 0, channel.size(), "moov");
+            if (moov < 0) {
+                return Optional.empty();
+            }
+            long moovEnd = moov + boxSize(channel, moov);
+            long mvhd = findBox(channel, moov + headerSize(channel, moov), moovEnd, "mvhd");
+            if (mvhd < 0) {
+                return Optional.empty();
+            }
+            ByteBuffer buf = ByteBuffer.allocate(32);
+            if (channel.read(buf, mvhd + headerSize(channel, mvhd)) < buf.capacity()) {
+                return Optional.empty();
+            }
+            buf.flip();
+            int version = buf.get() & 0xff;
+            long timescale;
+            long duration;
+            if (version == 1) {
+                buf.position(4 + 16);
+                timescale = buf.getInt() & 0xffffffffL;
+                duration = buf.getLong();
+            } else {
+                buf.position(4 + 8);
+                timescale = buf.getInt() & 0xffffffffL;
+                duration = buf.getInt() & 0xffffffffL;
+            }
+            if (timescale == 0) {
+                return Optional.empty();
+            }
+            return Optional.of((double) duration / timescale);
+        } catch (RuntimeException e) {
+            // 잘린 파일 등 형식이 맞지 않는 경우
+            return Optional.empty();
+        }
+    }
+
+    // [start, end) 범위에서 type 박스의 시작 위치를 찾음
+    private static long findBox(FileChannel channel, long start, long end, String type) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(8);
+        long position = start;
+        while (position + 8 <= end) {
+            header.clear();
+            if (channel.read(header, position) < 8) {
+                return -1;
+            }
+            header.flip();
+            header.getInt();
+            byte[] name = new byte[4];
+            header.get(name);
+            if (type.equals(new String(name, StandardCharsets.ISO_8859_1))) {
+                return position;
+            }
+            long size = boxSize(channel, position);
+            if (size < 8) {
+                return -1;
+            }
+            position += size;
+        }
+        return -1;
+    }
+
+    // 박스 헤더 길이 (64비트 확장 크기를 쓰는 박스는 16바이트)
+    private static long headerSize(FileChannel channel, long position) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(4);
+        channel.read(buf, position);
+        buf.flip();
+        return buf.getInt() == 1 ? 16 : 8;
+    }
+
+    // 박스 크기 (1이면 64비트 확장 크기, 0이면 파일 끝까지)
+    private static long boxSize(FileChannel channel, long position) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(16);
+        channel.read(buf, position);
+        buf.flip();
+        long size = buf.getInt() & 0xffffffffL;
+        if (size == 1) {
+            buf.position(8);
+            return buf.getLong();
+        }
+        if (size == 0) {
+            return channel.size() - position;
+        }
+        return size;
+    }
+}
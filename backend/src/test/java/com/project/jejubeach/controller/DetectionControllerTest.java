@@ -0,0 +1,112 @@
+package com.project.jejubeach.controller;
+
+import com.project.jejubeach.dto.DetectionCreateReq;
+import com.project.jejubeach.entity.Detection;
+import com.project.jejubeach.service.DetectionChangeFilter;
+import com.project.jejubeach.service.DetectionExportService;
+import com.project.jejubeach.service.DetectionIngestQueue;
+import com.project.jejubeach.service.DetectionIngestService;
+import com.project.jejubeach.service.DetectionIngestService.IngestResult;
+import com.project.jejubeach.service.DetectionIngestService.Status;
+import com.project.jejubeach.service.DetectionService;
+import com.project.jejubeach.service.DetectionSpool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class DetectionControllerTest {
+
+    private static final String BODY = "{\"personCount\":12,\"fallenCount\":0,\"source\":\"hamduck_camera_01\"}";
+
+    private final DetectionIngestService ingestService = mock(DetectionIngestService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        DetectionController controller = new DetectionController(mock(DetectionService.class),
+                mock(DetectionExportService.class), ingestService, mock(DetectionIngestQueue.class),
+                mock(DetectionSpool.class), mock(DetectionChangeFilter.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void 저장되면_저장된_행을_반환한다() throws Exception {
+        Detection saved = Detection.builder().id(7L).personCount(12).fallenCount(0)
+                .source("hamduck_camera_01").createdAt(LocalDateTime.of(2024, 7, 1, 12, 0)).build();
+        when(ingestService.ingest(any(DetectionCreateReq.class)))
+                .thenReturn(new IngestResult(Status.SAVED, 1, 0, List.of(saved)));
+
+        mockMvc.perform(post("/api/detections").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.personCount").value(12));
+    }
+
+    @Test
+    void 변화_감지로_저장되지_않으면_200과_SUPPRESSED를_반환한다() throws Exception {
+        when(ingestService.ingest(any(DetectionCreateReq.class)))
+                .thenReturn(new IngestResult(Status.SUPPRESSED, 0, 0, List.of()));
+
+        mockMvc.perform(post("/api/detections").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUPPRESSED"))
+                .andExpect(jsonPath("$.accepted").value(0));
+    }
+
+    @Test
+    void 일괄_저장에서_모두_걸러져도_200과_SUPPRESSED를_반환한다() throws Exception {
+        when(ingestService.ingestAll(anyList()))
+                .thenReturn(new IngestResult(Status.SUPPRESSED, 0, 1, List.of()));
+
+        mockMvc.perform(post("/api/detections/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + BODY + "," + BODY + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUPPRESSED"))
+                .andExpect(jsonPath("$.duplicates").value(1));
+    }
+
+    @Test
+    void 큐에_넣으면_202를_반환한다() throws Exception {
+        when(ingestService.ingest(any(DetectionCreateReq.class)))
+                .thenReturn(new IngestResult(Status.QUEUED, 1, 0, List.of()));
+
+        mockMvc.perform(post("/api/detections").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("QUEUED"))
+                .andExpect(jsonPath("$.accepted").value(1));
+    }
+
+    @Test
+    void 재전송이면_409를_반환한다() throws Exception {
+        when(ingestService.ingest(any(DetectionCreateReq.class)))
+                .thenReturn(new IngestResult(Status.DUPLICATE, 0, 1, List.of()));
+
+        mockMvc.perform(post("/api/detections").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void 받을_수_없으면_503과_Retry_After를_반환한다() throws Exception {
+        when(ingestService.ingest(any(DetectionCreateReq.class)))
+                .thenReturn(new IngestResult(Status.REJECTED, 0, 0, List.of()));
+
+        mockMvc.perform(post("/api/detections").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+}
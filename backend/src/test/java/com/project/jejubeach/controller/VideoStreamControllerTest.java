@@ -0,0 +1,211 @@
+package com.project.jejubeach.controller;
+
+import com.project.jejubeach.service.HlsPackagingService;
+import com.project.jejubeach.service.HlsSegmentCache;
+import com.project.jejubeach.service.VideoStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VideoStreamControllerTest {
+
+    private static final String FILE_NAME = "hamduck_beach.mp4";
+    private static final long LAST_MODIFIED = 1_719_835_200_000L;
+    private static final int SIZE = 100;
+
+    @TempDir
+    Path tempDir;
+
+    private final VideoStorageService videoStorageService = mock(VideoStorageService.class);
+    private VideoStreamController controller;
+    private VideoStorageService.VideoFile video;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        content = new byte[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            content[i] = (byte) i;
+        }
+        Path file = Files.write(tempDir.resolve(FILE_NAME), content);
+        video = new VideoStorageService.VideoFile(file, SIZE, LAST_MODIFIED);
+        when(videoStorageService.find(FILE_NAME)).thenReturn(Optional.of(video));
+
+        controller = new VideoStreamController(videoStorageService, mock(HlsPackagingService.class),
+                mock(HlsSegmentCache.class));
+        ReflectionTestUtils.setField(controller, "cacheMaxAgeSeconds", 3600L);
+    }
+
+    @Test
+    void Range가_없으면_전체를_보낸다() throws Exception {
+        MockHttpServletResponse response = stream(get());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(video.etag());
+        assertThat(response.getContentLengthLong()).isEqualTo(SIZE);
+        assertThat(response.getContentAsByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    void 구간_요청은_206으로_해당_구간만_보낸다() throws Exception {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-19");
+
+        MockHttpServletResponse response = stream(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 10-19/100");
+        assertThat(response.getContentLengthLong()).isEqualTo(10);
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, 10, 20));
+    }
+
+    @Test
+    void 끝이_없는_구간과_접미사_구간을_지원한다() throws Exception {
+        MockHttpServletRequest openEnded = get();
+        openEnded.addHeader(HttpHeaders.RANGE, "bytes=90-");
+        MockHttpServletResponse first = stream(openEnded);
+
+        assertThat(first.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 90-99/100");
+        assertThat(first.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, 90, 100));
+
+        MockHttpServletRequest suffix = get();
+        suffix.addHeader(HttpHeaders.RANGE, "bytes=-5");
+        MockHttpServletResponse second = stream(suffix);
+
+        assertThat(second.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 95-99/100");
+        assertThat(second.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, 95, 100));
+    }
+
+    @Test
+    void 파일_범위를_벗어난_구간은_416이다() throws Exception {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=200-300");
+
+        MockHttpServletResponse response = stream(request);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */100");
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void 여러_구간_요청과_잘못된_Range는_전체를_보낸다() throws Exception {
+        MockHttpServletRequest multiple = get();
+        multiple.addHeader(HttpHeaders.RANGE, "bytes=0-9,20-29");
+        assertThat(stream(multiple).getStatus()).isEqualTo(200);
+
+        MockHttpServletRequest malformed = get();
+        malformed.addHeader(HttpHeaders.RANGE, "items=0-9");
+        MockHttpServletResponse response = stream(malformed);
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    void If_Range의_ETag가_같으면_구간을_다르면_전체를_보낸다() throws Exception {
+        MockHttpServletRequest matching = get();
+        matching.addHeader(HttpHeaders.RANGE, "bytes=0-9");
+        matching.addHeader(HttpHeaders.IF_RANGE, video.etag());
+        assertThat(stream(matching).getStatus()).isEqualTo(206);
+
+        MockHttpServletRequest stale = get();
+        stale.addHeader(HttpHeaders.RANGE, "bytes=0-9");
+        stale.addHeader(HttpHeaders.IF_RANGE, "\"old-etag\"");
+        MockHttpServletResponse response = stream(stale);
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isNull();
+        assertThat(response.getContentAsByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    void If_Range의_날짜가_수정_시각과_같을_때만_구간을_보낸다() throws Exception {
+        MockHttpServletRequest matching = get();
+        matching.addHeader(HttpHeaders.RANGE, "bytes=0-9");
+        matching.addHeader(HttpHeaders.IF_RANGE, httpDate(LAST_MODIFIED));
+        assertThat(stream(matching).getStatus()).isEqualTo(206);
+
+        MockHttpServletRequest older = get();
+        older.addHeader(HttpHeaders.RANGE, "bytes=0-9");
+        older.addHeader(HttpHeaders.IF_RANGE, httpDate(LAST_MODIFIED - 60_000));
+        assertThat(stream(older).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void HEAD_요청은_본문_없이_길이만_알려준다() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("HEAD", "/videos/" + FILE_NAME);
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-19");
+
+        MockHttpServletResponse response = stream(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentLengthLong()).isEqualTo(10);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void ETag가_같으면_304이다() throws Exception {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, video.etag());
+
+        MockHttpServletResponse response = stream(request);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void sendfile을_지원하면_구간을_Tomcat에_넘긴다() throws Exception {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-19");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+
+        MockHttpServletResponse response = stream(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(10L);
+        // sendfile의 end는 마지막 바이트 다음 위치
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(20L);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void 없는_파일은_404이다() throws Exception {
+        when(videoStorageService.find("missing.mp4")).thenReturn(Optional.empty());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.stream("missing.mp4", new MockHttpServletRequest("GET", "/videos/missing.mp4"), response);
+
+        assertThat(response.getStatus()).isEqualTo(404);
+    }
+
+    private MockHttpServletResponse stream(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.stream(FILE_NAME, request, response);
+        return response;
+    }
+
+    private static MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/videos/" + FILE_NAME);
+    }
+
+    private static String httpDate(long epochMillis) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(epochMillis).atZone(ZoneOffset.UTC));
+    }
+}
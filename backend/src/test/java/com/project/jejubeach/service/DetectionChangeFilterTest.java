@@ -0,0 +1,109 @@
+package com.project.jejubeach.service;
+
+import com.project.jejubeach.dto.DetectionCreateReq;
+import com.project.jejubeach.dto.DetectionSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DetectionChangeFilterTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 7, 1, 12, 0, 0);
+
+    private DetectionChangeFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new DetectionChangeFilter(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "personTolerance", 2);
+        ReflectionTestUtils.setField(filter, "maxIntervalSeconds", 300L);
+    }
+
+    @Test
+    void 꺼져_있으면_모두_통과한다() {
+        ReflectionTestUtils.setField(filter, "enabled", false);
+        committed("hamduck", 10, 0, T0);
+        List<ReceivedDetection> received = List.of(received("hamduck", 10, 0, T0.plusSeconds(1)));
+
+        assertThat(filter.filter(received)).isSameAs(received);
+    }
+
+    @Test
+    void 처음_보는_source는_저장한다() {
+        assertThat(filter.filter(List.of(received("hamduck", 10, 0, T0)))).hasSize(1);
+    }
+
+    @Test
+    void 허용_오차_이내의_인원_변화는_저장하지_않는다() {
+        committed("hamduck", 10, 0, T0);
+
+        assertThat(filter.filter(List.of(received("hamduck", 12, 0, T0.plusSeconds(10))))).isEmpty();
+        assertThat(filter.filter(List.of(received("hamduck", 8, 0, T0.plusSeconds(10))))).isEmpty();
+    }
+
+    @Test
+    void 허용_오차를_넘는_인원_변화는_저장한다() {
+        committed("hamduck", 10, 0, T0);
+
+        assertThat(filter.filter(List.of(received("hamduck", 13, 0, T0.plusSeconds(10))))).hasSize(1);
+        assertThat(filter.filter(List.of(received("hamduck", 7, 0, T0.plusSeconds(10))))).hasSize(1);
+    }
+
+    @Test
+    void 쓰러진_사람_수가_바뀌면_인원이_같아도_저장한다() {
+        committed("hamduck", 10, 0, T0);
+
+        assertThat(filter.filter(List.of(received("hamduck", 10, 1, T0.plusSeconds(1))))).hasSize(1);
+    }
+
+    @Test
+    void 변화가_없어도_max_interval이_지나면_heartbeat로_저장한다() {
+        committed("hamduck", 10, 0, T0);
+
+        assertThat(filter.filter(List.of(received("hamduck", 10, 0, T0.plusSeconds(299))))).isEmpty();
+        assertThat(filter.filter(List.of(received("hamduck", 10, 0, T0.plusSeconds(300))))).hasSize(1);
+    }
+
+    @Test
+    void 같은_배치_안에서는_앞의_데이터를_기준으로_비교한다() {
+        List<ReceivedDetection> batch = List.of(
+                received("hamduck", 10, 0, T0),
+                received("hamduck", 11, 0, T0.plusSeconds(1)),
+                received("iho", 4, 0, T0.plusSeconds(1)),
+                received("hamduck", 20, 0, T0.plusSeconds(2)));
+
+        assertThat(filter.filter(batch)).extracting(r -> r.request().personCount())
+                .containsExactly(10, 4, 20);
+    }
+
+    @Test
+    void 커밋되지_않은_데이터는_기준값이_되지_않는다() {
+        // filter를 통과했지만 저장 이벤트가 없으면(롤백, spool) 다음 데이터도 다시 저장 대상
+        assertThat(filter.filter(List.of(received("hamduck", 10, 0, T0)))).hasSize(1);
+        assertThat(filter.filter(List.of(received("hamduck", 10, 0, T0.plusSeconds(1))))).hasSize(1);
+    }
+
+    @Test
+    void 늦게_커밋된_과거_데이터가_최신_기준값을_덮어쓰지_않는다() {
+        committed("hamduck", 10, 0, T0.plusSeconds(100));
+        committed("hamduck", 30, 0, T0);
+
+        assertThat(filter.filter(List.of(received("hamduck", 11, 0, T0.plusSeconds(110))))).isEmpty();
+    }
+
+    private void committed(String source, int personCount, int fallenCount, LocalDateTime at) {
+        filter.onSaved(new DetectionSavedEvent(List.of(
+                new DetectionSnapshot(1L, personCount, fallenCount, source, null, at))));
+    }
+
+    private static ReceivedDetection received(String source, int personCount, int fallenCount, LocalDateTime at) {
+        return new ReceivedDetection(new DetectionCreateReq(personCount, fallenCount, source), at);
+    }
+}
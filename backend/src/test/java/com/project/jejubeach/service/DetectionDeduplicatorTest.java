@@ -0,0 +1,94 @@
+package com.project.jejubeach.service;
+
+import com.project.jejubeach.dto.DetectionCreateReq;
+import com.project.jejubeach.repository.DetectionJdbcRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DetectionDeduplicatorTest {
+
+    private final DetectionJdbcRepository jdbcRepo = mock(DetectionJdbcRepository.class);
+    private final DetectionDeduplicator deduplicator = new DetectionDeduplicator(jdbcRepo);
+
+    @Test
+    void 순번이_없으면_중복으로_보지_않는다() {
+        DetectionCreateReq request = new DetectionCreateReq(3, 0, "hamduck");
+        deduplicator.accept(request);
+
+        assertThat(deduplicator.isDuplicate(request)).isFalse();
+    }
+
+    @Test
+    void 저장된_순번_이하는_중복이다() {
+        deduplicator.accept(request("hamduck", 10));
+
+        assertThat(deduplicator.isDuplicate(request("hamduck", 10))).isTrue();
+        assertThat(deduplicator.isDuplicate(request("hamduck", 9))).isTrue();
+        assertThat(deduplicator.isDuplicate(request("hamduck", 11))).isFalse();
+        // source별로 따로 관리
+        assertThat(deduplicator.isDuplicate(request("iho", 5))).isFalse();
+    }
+
+    @Test
+    void 늦게_저장된_작은_순번이_high_water_mark를_되돌리지_않는다() {
+        deduplicator.accept(request("hamduck", 10));
+        deduplicator.accept(request("hamduck", 7));
+
+        assertThat(deduplicator.isDuplicate(request("hamduck", 9))).isTrue();
+    }
+
+    @Test
+    void 큐에서_대기_중인_순번은_중복이지만_high_water_mark는_올리지_않는다() {
+        deduplicator.markPending(request("hamduck", 10));
+
+        assertThat(deduplicator.isDuplicate(request("hamduck", 10))).isTrue();
+        // 아직 커밋되지 않았으므로 그 사이의 순번은 받을 수 있어야 함
+        assertThat(deduplicator.isDuplicate(request("hamduck", 8))).isFalse();
+    }
+
+    @Test
+    void 저장에_실패해서_release된_순번은_재전송을_받는다() {
+        deduplicator.markPending(request("hamduck", 10));
+        deduplicator.release(request("hamduck", 10));
+
+        assertThat(deduplicator.isDuplicate(request("hamduck", 10))).isFalse();
+    }
+
+    @Test
+    void 저장이_끝나면_대기_목록에서_빠지고_high_water_mark가_올라간다() {
+        deduplicator.markPending(request("hamduck", 10));
+        deduplicator.accept(request("hamduck", 10));
+        deduplicator.release(request("hamduck", 10));
+
+        assertThat(deduplicator.isDuplicate(request("hamduck", 10))).isTrue();
+        assertThat(deduplicator.isDuplicate(request("hamduck", 8))).isTrue();
+    }
+
+    @Test
+    void 시작할_때_DB의_최대_순번을_불러온다() {
+        when(jdbcRepo.findMaxSequencePerSource()).thenReturn(Map.of("hamduck", 42L));
+
+        deduplicator.warmUp();
+
+        assertThat(deduplicator.isDuplicate(request("hamduck", 42))).isTrue();
+        assertThat(deduplicator.isDuplicate(request("hamduck", 43))).isFalse();
+    }
+
+    @Test
+    void 순번_조회에_실패해도_시작은_계속된다() {
+        when(jdbcRepo.findMaxSequencePerSource()).thenThrow(new IllegalStateException("db down"));
+
+        deduplicator.warmUp();
+
+        assertThat(deduplicator.isDuplicate(request("hamduck", 1))).isFalse();
+    }
+
+    private static DetectionCreateReq request(String source, long sequence) {
+        return new DetectionCreateReq(1, 0, source, sequence);
+    }
+}
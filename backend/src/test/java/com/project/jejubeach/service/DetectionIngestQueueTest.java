@@ -0,0 +1,94 @@
+package com.project.jejubeach.service;
+
+import com.project.jejubeach.dto.DetectionCreateReq;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class DetectionIngestQueueTest {
+
+    private final DetectionDeduplicator deduplicator = mock(DetectionDeduplicator.class);
+
+    // flusher 없이(sync 모드) 큐에 쌓이기만 하도록 생성
+    private DetectionIngestQueue newQueue(int capacity, String overflowPolicy) {
+        DetectionIngestQueue queue = new DetectionIngestQueue(mock(DetectionService.class), mock(DetectionSpool.class),
+                deduplicator, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(queue, "mode", "sync");
+        ReflectionTestUtils.setField(queue, "queueCapacity", capacity);
+        ReflectionTestUtils.setField(queue, "batchSize", 10);
+        ReflectionTestUtils.setField(queue, "flushIntervalMs", 100L);
+        ReflectionTestUtils.setField(queue, "overflowPolicy", overflowPolicy);
+        ReflectionTestUtils.setField(queue, "offerTimeoutMs", 10L);
+        ReflectionTestUtils.invokeMethod(queue, "init");
+        return queue;
+    }
+
+    @Test
+    void 자리가_부족하면_여러_건_요청을_한_건도_넣지_않는다() {
+        DetectionIngestQueue queue = newQueue(3, "backpressure");
+
+        assertThat(queue.offerAll(requests(2))).isTrue();
+        assertThat(queue.offerAll(requests(2))).isFalse();
+
+        assertThat(queue.getStats().get("queueDepth")).isEqualTo(2);
+        assertThat(queue.getStats().get("rejected")).isEqualTo(2L);
+    }
+
+    @Test
+    void 동시에_넣어도_받아들인_요청만_큐에_들어간다() throws Exception {
+        DetectionIngestQueue queue = newQueue(100, "backpressure");
+        ExecutorService producers = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 40; i++) {
+                results.add(producers.submit(() -> {
+                    start.await();
+                    return queue.offerAll(requests(7));
+                }));
+            }
+            start.countDown();
+            int accepted = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(10, TimeUnit.SECONDS)) {
+                    accepted++;
+                }
+            }
+
+            // 거절된 요청은 한 건도 들어가지 않으므로 큐 깊이는 받아들인 요청 건수와 같음
+            assertThat(accepted).isEqualTo(100 / 7);
+            assertThat(queue.getStats().get("queueDepth")).isEqualTo(accepted * 7);
+        } finally {
+            producers.shutdownNow();
+        }
+    }
+
+    @Test
+    void drop_oldest는_가장_오래된_항목을_버리고_모두_넣는다() {
+        DetectionIngestQueue queue = newQueue(3, "drop-oldest");
+
+        assertThat(queue.offerAll(requests(5))).isTrue();
+
+        assertThat(queue.getStats().get("queueDepth")).isEqualTo(3);
+        assertThat(queue.getStats().get("dropped")).isEqualTo(2L);
+    }
+
+    private static List<DetectionCreateReq> requests(int count) {
+        List<DetectionCreateReq> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(new DetectionCreateReq(i, 0, "hamduck"));
+        }
+        return requests;
+    }
+}
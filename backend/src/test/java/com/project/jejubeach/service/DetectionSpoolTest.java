@@ -0,0 +1,173 @@
+package com.project.jejubeach.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.jejubeach.dto.DetectionCreateReq;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class DetectionSpoolTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final DetectionService detectionService = mock(DetectionService.class);
+    private final List<DetectionSpool> spools = new ArrayList<>();
+    // 저장에 성공한 레코드 (실패한 호출은 롤백된 것으로 보고 기록하지 않음)
+    private final List<ReceivedDetection> saved = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (DetectionSpool spool : spools) {
+            spool.shutdown();
+        }
+    }
+
+    @Test
+    void 기록한_레코드를_순서대로_재처리하고_세그먼트를_삭제한다() throws Exception {
+        recordSaves();
+        DetectionSpool spool = newSpool();
+        List<ReceivedDetection> records = List.of(record("hamduck", 1), record("iho", 2), record("hamduck", 3));
+
+        spool.appendAll(records);
+        spool.replay();
+
+        assertThat(saved).containsExactlyElementsOf(records);
+        assertThat(segments()).isEmpty();
+        assertThat(spool.getStats()).containsEntry("replayed", 3L);
+    }
+
+    @Test
+    void 재시작하면_잘린_꼬리를_제거하고_앞의_레코드는_보존한다() throws Exception {
+        DetectionSpool first = newSpool();
+        List<ReceivedDetection> records = List.of(record("hamduck", 1), record("iho", 2));
+        first.appendAll(records);
+        first.shutdown();
+        Path segment = segments().get(0);
+        long validSize = Files.size(segment);
+        // 헤더만 쓰고 본문을 쓰기 전에 종료된 레코드
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(8).putInt(100).putInt(12345).flip());
+        }
+
+        recordSaves();
+        DetectionSpool restarted = newSpool();
+
+        assertThat(Files.size(segment)).isEqualTo(validSize);
+        restarted.replay();
+        assertThat(saved).containsExactlyElementsOf(records);
+    }
+
+    @Test
+    void 체크섬이_맞지_않는_레코드부터는_읽지_않는다() throws Exception {
+        DetectionSpool first = newSpool();
+        first.appendAll(List.of(record("hamduck", 1)));
+        long firstEnd = Files.size(segments().get(0));
+        first.appendAll(List.of(record("iho", 2)));
+        first.shutdown();
+        Path segment = segments().get(0);
+        // 두 번째 레코드 본문의 마지막 바이트를 변경
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[bytes.length - 1] ^= 0x01;
+        Files.write(segment, bytes);
+
+        recordSaves();
+        DetectionSpool restarted = newSpool();
+
+        assertThat(Files.size(segment)).isEqualTo(firstEnd);
+        restarted.replay();
+        assertThat(saved).containsExactly(record("hamduck", 1));
+    }
+
+    @Test
+    void 데이터_오류는_배치를_나눠서_실패한_레코드만_건너뛴다() throws Exception {
+        ReceivedDetection bad = record("broken", 3);
+        doAnswer(invocation -> {
+            List<ReceivedDetection> batch = invocation.getArgument(0);
+            if (batch.contains(bad)) {
+                throw new DataIntegrityViolationException("bad row");
+            }
+            saved.addAll(batch);
+            return null;
+        }).when(detectionService).saveReceived(anyList());
+        DetectionSpool spool = newSpool();
+        List<ReceivedDetection> batch = List.of(
+                record("hamduck", 1), record("iho", 2), bad, record("hamduck", 4), record("iho", 5));
+
+        int skipped = spool.saveSplitting(batch);
+
+        assertThat(skipped).isEqualTo(1);
+        assertThat(saved).containsExactlyInAnyOrder(
+                record("hamduck", 1), record("iho", 2), record("hamduck", 4), record("iho", 5));
+    }
+
+    @Test
+    void DB_연결_오류면_세그먼트를_남기고_DB_장애로_표시한다() throws Exception {
+        doThrow(new DataAccessResourceFailureException("connection refused"))
+                .when(detectionService).saveReceived(anyList());
+        DetectionSpool spool = newSpool();
+        spool.appendAll(List.of(record("hamduck", 1), record("iho", 2)));
+
+        spool.replay();
+
+        assertThat(segments()).hasSize(1);
+        assertThat(spool.isDatabaseAvailable()).isFalse();
+        assertThat(spool.getStats()).containsEntry("replayed", 0L);
+    }
+
+    private DetectionSpool newSpool() throws IOException {
+        DetectionSpool spool = new DetectionSpool(detectionService, objectMapper, mock(JdbcTemplate.class),
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(spool, "enabled", true);
+        ReflectionTestUtils.setField(spool, "spoolDir", tempDir.toString());
+        ReflectionTestUtils.setField(spool, "segmentMaxBytes", 8L * 1024 * 1024);
+        ReflectionTestUtils.setField(spool, "fsyncBatch", 64);
+        ReflectionTestUtils.setField(spool, "fsyncIntervalMs", 200L);
+        ReflectionTestUtils.setField(spool, "replayBatchSize", 500);
+        spool.init();
+        spools.add(spool);
+        return spool;
+    }
+
+    private void recordSaves() {
+        doAnswer(invocation -> {
+            saved.addAll(invocation.getArgument(0));
+            return null;
+        }).when(detectionService).saveReceived(anyList());
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static ReceivedDetection record(String source, long sequence) {
+        return new ReceivedDetection(new DetectionCreateReq((int) sequence, 0, source, sequence),
+                LocalDateTime.of(2024, 7, 1, 12, 0, (int) sequence));
+    }
+}
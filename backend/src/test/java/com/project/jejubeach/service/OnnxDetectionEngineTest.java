@@ -0,0 +1,85 @@
+package com.project.jejubeach.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class OnnxDetectionEngineTest {
+
+    private static final double FALL_RATIO = 1.8;
+    private static final double FALL_MAX_HEIGHT_RATIO = 0.35;
+
+    private OnnxDetectionEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new OnnxDetectionEngine(mock(AIModelLogBuffer.class), mock(LiveFrameStore.class));
+        ReflectionTestUtils.setField(engine, "fallRatio", FALL_RATIO);
+        ReflectionTestUtils.setField(engine, "fallMaxHeightRatio", FALL_MAX_HEIGHT_RATIO);
+    }
+
+    @Test
+    void 서_있는_사람은_쓰러짐이_아니다() {
+        assertThat(engine.isFallen(100, 100, 140, 220, 720)).isFalse();
+    }
+
+    @Test
+    void 가로로_길고_낮은_박스는_쓰러짐이다() {
+        assertThat(engine.isFallen(100, 400, 300, 460, 720)).isTrue();
+    }
+
+    @Test
+    void 가로로_길어도_프레임_대비_높이가_크면_쓰러짐이_아니다() {
+        // 폭/높이 2.0이지만 높이가 프레임의 50%
+        assertThat(engine.isFallen(0, 0, 720, 360, 720)).isFalse();
+    }
+
+    @Test
+    void 경계값은_Python과_같이_포함한다() {
+        // 폭/높이가 정확히 1.8, 높이가 정확히 프레임의 35%
+        assertThat(engine.isFallen(0, 0, 18, 10, 100)).isTrue();
+        assertThat(engine.isFallen(0, 0, 63, 35, 100)).isTrue();
+        assertThat(engine.isFallen(0, 0, 63, 36, 100)).isFalse();
+    }
+
+    @Test
+    void 좌표는_Python처럼_정수로_잘라서_계산한다() {
+        // 소수 좌표로는 폭 17.9(비율 1.79)이지만 정수로 자르면 폭 18(비율 1.8)
+        assertThat(engine.isFallen(0.9f, 0, 18.8f, 10.5f, 100)).isTrue();
+    }
+
+    @Test
+    void 폭이나_높이가_1보다_작으면_1로_본다() {
+        // 높이 0 → 1, 폭 2 → 비율 2.0
+        assertThat(engine.isFallen(10, 50, 12, 50, 100)).isTrue();
+        // 폭이 음수인 잘못된 박스 → 1
+        assertThat(engine.isFallen(12, 50, 10, 51, 100)).isFalse();
+        // 프레임 높이 0 → 1
+        assertThat(engine.isFallen(0, 0, 4, 1, 0)).isFalse();
+    }
+
+    @Test
+    void 실제_compute_aspect_fall로_계산한_고정_사례와_같다() {
+        // beach_project/simple_detection_linux.py의 compute_aspect_fall(fall_ratio=1.8, fall_max_height_ratio=0.35)에
+        // map(int, ...)로 자른 좌표를 넣어 계산한 결과 {l, t, r, b, frame_h, fallen(1/0)}
+        double[][] cases = {
+                {100.0, 200.0, 190.0, 250.0, 480, 1},
+                {100.0, 200.0, 189.9, 250.0, 480, 0},
+                {0.5, 10.2, 36.9, 30.99, 480, 1},
+                {10.0, 10.0, 46.0, 30.0, 58, 1},
+                {10.0, 10.0, 46.0, 30.0, 57, 0},
+                {5.7, 5.2, 60.3, 35.9, 1080, 1},
+                {300.0, 100.0, 480.0, 200.0, 286, 1},
+                {300.0, 100.0, 480.0, 200.0, 285, 0},
+                {640.2, 360.8, 700.1, 394.4, 720, 0},
+        };
+        for (double[] c : cases) {
+            assertThat(engine.isFallen((float) c[0], (float) c[1], (float) c[2], (float) c[3], (int) c[4]))
+                    .as("l=%s t=%s r=%s b=%s frame_h=%s", c[0], c[1], c[2], c[3], c[4])
+                    .isEqualTo(c[5] == 1);
+        }
+    }
+}
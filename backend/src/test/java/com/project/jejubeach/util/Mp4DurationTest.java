@@ -0,0 +1,131 @@
+package com.project.jejubeach.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Mp4DurationTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void 버전_0_mvhd의_재생_시간을_읽는다() throws Exception {
+        Path file = write(box("ftyp", new byte[16]), box("moov", mvhdV0(1000, 12_500)));
+
+        assertThat(Mp4Duration.of(file)).contains(12.5);
+    }
+
+    @Test
+    void 버전_1_mvhd의_64비트_재생_시간을_읽는다() throws Exception {
+        long duration = 90_000L * 60 * 60 * 24 * 400;
+        Path file = write(box("ftyp", new byte[16]), box("moov", mvhdV1(90_000, duration)));
+
+        assertThat(Mp4Duration.of(file)).contains((double) duration / 90_000);
+    }
+
+    @Test
+    void moov_앞의_박스와_mvhd_앞의_박스는_건너뛴다() throws Exception {
+        Path file = write(
+                box("ftyp", new byte[16]),
+                box("free", new byte[3]),
+                box("mdat", new byte[1024]),
+                box("moov", box("udta", new byte[10]), mvhdV0(600, 1800)));
+
+        assertThat(Mp4Duration.of(file)).contains(3.0);
+    }
+
+    @Test
+    void 확장_크기_박스를_건너뛴다() throws Exception {
+        Path file = write(box("ftyp", new byte[16]), largeBox("mdat", new byte[100]), box("moov", mvhdV0(1000, 4000)));
+
+        assertThat(Mp4Duration.of(file)).contains(4.0);
+    }
+
+    @Test
+    void 확장_크기_moov와_mvhd도_읽는다() throws Exception {
+        Path file = write(box("ftyp", new byte[16]), largeBox("moov", largeBox("mvhd", mvhdV0Payload(1000, 7000))));
+
+        assertThat(Mp4Duration.of(file)).contains(7.0);
+    }
+
+    @Test
+    void moov나_mvhd가_없으면_빈_값이다() throws Exception {
+        assertThat(Mp4Duration.of(write(box("ftyp", new byte[16]), box("mdat", new byte[64])))).isEmpty();
+        assertThat(Mp4Duration.of(write(box("moov", box("trak", new byte[8]))))).isEmpty();
+    }
+
+    @Test
+    void timescale이_0이면_빈_값이다() throws Exception {
+        assertThat(Mp4Duration.of(write(box("moov", mvhdV0(0, 1000))))).isEmpty();
+    }
+
+    @Test
+    void MP4가_아니거나_잘린_파일은_빈_값이다() throws Exception {
+        assertThat(Mp4Duration.of(write("not a video file".getBytes(StandardCharsets.UTF_8)))).isEmpty();
+        assertThat(Mp4Duration.of(write(new byte[0]))).isEmpty();
+
+        byte[] full = concat(box("ftyp", new byte[16]), box("moov", mvhdV0(1000, 5000)));
+        assertThat(Mp4Duration.of(write(Arrays.copyOf(full, full.length - 90)))).isEmpty();
+    }
+
+    private Path write(byte[]... parts) throws Exception {
+        return Files.write(Files.createTempFile(tempDir, "video", ".mp4"), concat(parts));
+    }
+
+    private static byte[] mvhdV0(long timescale, long duration) {
+        return box("mvhd", mvhdV0Payload(timescale, duration));
+    }
+
+    // version/flags, 생성/수정 시각(32비트), timescale, duration, 나머지 필드
+    private static byte[] mvhdV0Payload(long timescale, long duration) {
+        return ByteBuffer.allocate(100)
+                .putInt(0)
+                .putInt(0).putInt(0)
+                .putInt((int) timescale).putInt((int) duration)
+                .array();
+    }
+
+    private static byte[] mvhdV1(long timescale, long duration) {
+        return box("mvhd", ByteBuffer.allocate(112)
+                .putInt(1 << 24)
+                .putLong(0).putLong(0)
+                .putInt((int) timescale).putLong(duration)
+                .array());
+    }
+
+    private static byte[] box(String type, byte[]... payload) {
+        byte[] body = concat(payload);
+        return ByteBuffer.allocate(8 + body.length)
+                .putInt(8 + body.length)
+                .put(type.getBytes(StandardCharsets.ISO_8859_1))
+                .put(body)
+                .array();
+    }
+
+    // 크기 필드가 1이고 뒤에 64비트 크기가 오는 박스
+    private static byte[] largeBox(String type, byte[] payload) {
+        return ByteBuffer.allocate(16 + payload.length)
+                .putInt(1)
+                .put(type.getBytes(StandardCharsets.ISO_8859_1))
+                .putLong(16 + payload.length)
+                .put(payload)
+                .array();
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+}
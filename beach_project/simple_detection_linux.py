@@ -5,8 +5,11 @@ YOLO + DeepSORT를 사용하여 실제 비디오에서 사람과 쓰러진 사
 """
 
 import os
+import sys
 import time
 import json
+import struct
+import threading
 import requests
 import cv2
 import numpy as np
@@ -14,10 +17,51 @@ from datetime import datetime
 from ultralytics import YOLO
 from deep_sort_realtime.deepsort_tracker import DeepSort
 
+class FrameChannel:
+    """stdio 모드용 프레임 채널 (4바이트 big-endian 길이 + UTF-8 JSON)"""
+    
+    MAX_FRAME_BYTES = 16 * 1024 * 1024
+    
+    def __init__(self):
+        # 원래 stdout은 프레임 전용으로 복제하고, 이후 print 및 라이브러리 출력은 모두 stderr로 보냄
+        self.out = os.fdopen(os.dup(1), "wb", buffering=0)
+        os.dup2(2, 1)
+        sys.stdout = sys.stderr
+        self.inp = sys.stdin.buffer
+        self.lock = threading.Lock()
+    
+    def send(self, message):
+        data = json.dumps(message, ensure_ascii=False).encode("utf-8")
+        with self.lock:
+            self.out.write(struct.pack(">I", len(data)) + data)
+    
+    def receive(self):
+        """다음 명령 프레임을 읽음 (stdin이 닫히면 None)"""
+        header = self._read_exact(4)
+        if header is None:
+            return None
+        (length,) = struct.unpack(">I", header)
+        if length > self.MAX_FRAME_BYTES:
+            raise ValueError(f"프레임이 너무 큽니다: {length} bytes")
+        body = self._read_exact(length)
+        if body is None:
+            return None
+        return json.loads(body.decode("utf-8"))
+    
+    def _read_exact(self, n):
+        buf = b""
+        while len(buf) < n:
+            chunk = self.inp.read(n - len(buf))
+            if not chunk:
+                return None
+            buf += chunk
+        return buf
+
 class RealBeachDetector:
     def __init__(self):
         self.backend_url = os.getenv("BACKEND_URL", "http://localhost:8080")
         self.analysis_interval = int(os.getenv("ANALYSIS_INTERVAL", "30"))
+        self.send_retries = int(os.getenv("SEND_RETRIES", "3"))
         
         # 현재 작업 디렉토리에서 비디오 파일 경로 설정 (임시 디렉토리)
         current_dir = os.getcwd()
@@ -69,6 +113,8 @@ class RealBeachDetector:
         
         self.running = False
         self.analysis_count = 0
+        self.last_frames_processed = 0
+        self.last_inference_seconds = 0.0
         
     def initialize_models(self):
         """YOLO 모델과 DeepSORT 추적기 초기화"""
@@ -101,6 +147,9 @@ class RealBeachDetector:
     
     def analyze_video(self, beach_info):
         """비디오 파일을 분석하여 사람 수와 쓰러진 사람 수를 탐지"""
+        # 마지막 분석의 처리 프레임 수와 순수 추론(탐지+추적) 시간 (stdio 결과 프레임으로 전달)
+        self.last_frames_processed = 0
+        self.last_inference_seconds = 0.0
         if not self.initialized:
             print(f"[ERROR] {beach_info['name']}: 모델이 초기화되지 않았습니다.")
             return 0, 0
@@ -142,6 +191,7 @@ class RealBeachDetector:
                 H, W = frame.shape[:2]
                 
                 # YOLO 사람 탐지
+                inference_started = time.time()
                 results = self.model(frame, classes=[0], imgsz=self.yolo_imgsz, 
                                    conf=self.yolo_conf, iou=self.yolo_iou, verbose=False)
                 
@@ -158,6 +208,7 @@ class RealBeachDetector:
                 
                 # DeepSORT 추적
                 tracks = self.tracker.update_tracks(dets_xywh_conf_cls, frame=frame)
+                self.last_inference_seconds += time.time() - inference_started
                 
                 visible_count = 0
                 fallen_visible = 0
@@ -197,6 +248,7 @@ class RealBeachDetector:
                     break
             
             cap.release()
+            self.last_frames_processed = processed_frames
             
             # 평균값 계산
             avg_visible = total_visible // max(1, processed_frames)
@@ -215,7 +267,8 @@ class RealBeachDetector:
             payload = {
                 "personCount": person_count,
                 "fallenCount": fallen_count,
-                "source": beach_info["source"]
+                "source": beach_info["source"],
+                "sequence": self.next_sequence()
             }
             
             headers = {"Content-Type": "application/json"}
@@ -227,7 +280,8 @@ class RealBeachDetector:
                 timeout=10
             )
             
-            if response.status_code == 200:
+            # 409: 이미 저장된 순번의 재전송
+            if response.status_code in (200, 202, 409):
                 print(f"[SUCCESS] {beach_info['name']} 데이터 전송 성공")
                 print(f"   - 사람 수: {person_count}, 쓰러진 사람: {fallen_count}")
             else:
@@ -236,29 +290,72 @@ class RealBeachDetector:
         except Exception as e:
             print(f"[ERROR] API 전송 오류 ({beach_info['name']}): {str(e)}")
     
+    def next_sequence(self):
+        """source별 순번 (밀리초 타임스탬프, 재시작 후에도 증가)"""
+        return int(time.time() * 1000)
+    
+    def send_detection_batch(self, readings):
+        """한 주기의 탐지 데이터를 배치 API로 한 번에 전송 (실패 시 같은 순번으로 재전송)"""
+        if not readings:
+            return
+        
+        sequence = self.next_sequence()
+        payload = [
+            {
+                "personCount": person_count,
+                "fallenCount": fallen_count,
+                "source": beach_info["source"],
+                "sequence": sequence
+            }
+            for beach_info, person_count, fallen_count in readings
+        ]
+        headers = {"Content-Type": "application/json"}
+        
+        for attempt in range(1, self.send_retries + 1):
+            try:
+                response = requests.post(
+                    f"{self.backend_url}/api/detections/batch",
+                    json=payload,
+                    headers=headers,
+                    timeout=10
+                )
+                
+                # 409: 이전 시도에서 이미 저장된 순번 (응답만 유실된 경우)
+                if response.status_code in (200, 202, 409):
+                    print(f"[SUCCESS] {len(payload)}개 해변 데이터 일괄 전송 성공")
+                    for beach_info, person_count, fallen_count in readings:
+                        print(f"   - {beach_info['name']}: 사람 수 {person_count}, 쓰러진 사람 {fallen_count}")
+                    return
+                print(f"[ERROR] 데이터 일괄 전송 실패 ({attempt}/{self.send_retries}): {response.status_code}")
+                    
+            except Exception as e:
+                print(f"[ERROR] 배치 API 전송 오류 ({attempt}/{self.send_retries}): {str(e)}")
+            
+            if attempt < self.send_retries:
+                time.sleep(attempt)
+    
     def analyze_all_beaches(self):
         """모든 해변 분석"""
         print(f"\n[ANALYSIS] 해변 분석 시작 - {datetime.now().strftime('%Y-%m-%d %H:%M:%S')}")
         
+        readings = []
         for beach_info in self.beaches:
             try:
                 print(f"[INFO] {beach_info['name']} 분석 중...")
                 
                 # 실제 비디오 분석
                 person_count, fallen_count = self.analyze_video(beach_info)
-                
-                # 백엔드로 데이터 전송
-                self.send_detection_data(beach_info, person_count, fallen_count)
+                readings.append((beach_info, person_count, fallen_count))
                 
                 # 분석 횟수 증가
                 self.analysis_count += 1
                 
-                # API 부하 방지를 위한 대기
-                time.sleep(2)
-                
             except Exception as e:
                 print(f"[ERROR] {beach_info['name']} 분석 오류: {str(e)}")
         
+        # 한 주기의 결과를 한 번의 요청으로 백엔드에 전송
+        self.send_detection_batch(readings)
+        
         print(f"[SUCCESS] 모든 해변 분석 완료 (총 {self.analysis_count}개)")
     
     def start_continuous_analysis(self):
@@ -295,6 +392,69 @@ class RealBeachDetector:
             self.running = False
             print("[SUCCESS] 분석기 중지됨")
     
+    def serve_stdio(self):
+        """stdio 모드: 백엔드가 보내는 analyze 명령을 처리하고 결과를 stdout 프레임으로 반환"""
+        channel = FrameChannel()
+        print("=== Jeju Beach 탐지 워커 (stdio 모드) 시작 ===")
+        
+        self.initialize_models()
+        channel.send({
+            "type": "ready",
+            "pid": os.getpid(),
+            "initialized": self.initialized,
+            "beaches": [
+                {"name": b["name"], "source": b["source"], "videoPath": b["video_path"]}
+                for b in self.beaches
+            ]
+        })
+        if not self.initialized:
+            print("[ERROR] 모델 초기화 실패로 워커를 종료합니다.")
+            return
+        
+        self.running = True
+        while self.running:
+            message = channel.receive()
+            if message is None or message.get("type") == "shutdown":
+                break
+            
+            request_id = message.get("id")
+            if message.get("type") == "ping":
+                channel.send({"type": "pong", "id": request_id})
+                continue
+            if message.get("type") != "analyze":
+                channel.send({"type": "error", "id": request_id, "message": f"알 수 없는 명령: {message.get('type')}"})
+                continue
+            
+            try:
+                source = message["source"]
+                video_path = message.get("videoPath")
+                beach_info = next((b for b in self.beaches if b["source"] == source), None)
+                beach_info = {
+                    "name": message.get("name") or (beach_info["name"] if beach_info else source),
+                    "source": source,
+                    "video_path": os.path.abspath(video_path) if video_path else (beach_info or {}).get("video_path", "")
+                }
+                
+                started = time.time()
+                person_count, fallen_count = self.analyze_video(beach_info)
+                self.analysis_count += 1
+                channel.send({
+                    "type": "result",
+                    "id": request_id,
+                    "source": source,
+                    "personCount": person_count,
+                    "fallenCount": fallen_count,
+                    "elapsedMs": int((time.time() - started) * 1000),
+                    "framesProcessed": self.last_frames_processed,
+                    "inferenceMs": int(self.last_inference_seconds * 1000)
+                })
+            except Exception as e:
+                print(f"[ERROR] 분석 명령 처리 오류: {str(e)}")
+                channel.send({"type": "error", "id": request_id, "message": str(e)})
+        
+        self.running = False
+        print("[SUCCESS] 탐지 워커 종료")
+    
     def stop(self):
         """분석 중지"""
         self.running = False
@@ -304,7 +464,11 @@ def main():
     try:
         # 실제 탐지기 생성 및 시작
         detector = RealBeachDetector()
-        detector.start_continuous_analysis()
+        # stdio: 백엔드가 파이프로 분석 명령을 보내고 결과를 받음, http: 자체 주기로 분석 후 API 전송
+        if os.getenv("WORKER_MODE", "http").lower() == "stdio":
+            detector.serve_stdio()
+        else:
+            detector.start_continuous_analysis()
         
     except Exception as e:
         print(f"[ERROR] 프로그램 실행 오류: {str(e)}")
@@ -21,6 +21,89 @@ export const aiModelApi = {
     }
   },
 
+  // AI 프로세스 로그 스냅샷 조회
+  getLogs: async (params = {}) => {
+    try {
+      const response = await apiClient.get('/ai-model/logs', { params })
+      return response.data
+    } catch (error) {
+      throw error.response?.data || { message: 'AI 모델 로그 조회에 실패했습니다.' }
+    }
+  },
+
+  // AI 프로세스 로그 실시간 구독 (SSE)
+  // EventSource는 Authorization 헤더를 보낼 수 없어서 fetch 스트림으로 직접 읽음
+  // 반환값을 호출하면 구독 종료
+  streamLogs: ({ afterSeq, onLog, onError }) => {
+    const controller = new AbortController()
+    let lastSeq = afterSeq
+
+    const connect = async () => {
+      const headers = { Accept: 'text/event-stream' }
+      const token = localStorage.getItem('token')
+      if (token) {
+        headers.Authorization = `Bearer ${token}`
+      }
+      if (lastSeq != null) {
+        headers['Last-Event-ID'] = String(lastSeq)
+      }
+
+      const response = await fetch(`${apiClient.defaults.baseURL}/ai-model/logs/stream`, {
+        headers,
+        signal: controller.signal
+      })
+      if (!response.ok || !response.body) {
+        throw new Error(`로그 스트림 연결 실패 (${response.status})`)
+      }
+
+      const reader = response.body.getReader()
+      const decoder = new TextDecoder()
+      let buffer = ''
+      for (;;) {
+        const { value, done } = await reader.read()
+        if (done) {
+          break
+        }
+        buffer += decoder.decode(value, { stream: true })
+        // 이벤트는 빈 줄로 구분
+        let boundary
+        while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+          const chunk = buffer.slice(0, boundary)
+          buffer = buffer.slice(boundary + 2)
+          const data = chunk.split('\n')
+            .filter(line => line.startsWith('data:'))
+            .map(line => line.slice(5))
+            .join('\n')
+          if (data) {
+            const entry = JSON.parse(data)
+            lastSeq = entry.seq
+            onLog(entry)
+          }
+        }
+      }
+    }
+
+    // 서버 타임아웃 등으로 연결이 끊기면 마지막 로그 번호부터 다시 연결
+    const run = async () => {
+      while (!controller.signal.aborted) {
+        try {
+          await connect()
+        } catch (error) {
+          if (controller.signal.aborted) {
+            return
+          }
+          if (onError) {
+            onError(error)
+          }
+          await new Promise(resolve => setTimeout(resolve, 5000))
+        }
+      }
+    }
+    run()
+
+    return () => controller.abort()
+  },
+
   // AI 모델 제어 (시작/중지/재시작)
   controlModel: async (endpoint) => {
     try {
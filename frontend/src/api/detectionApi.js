@@ -19,5 +19,17 @@ export const detectionApi = {
     } catch (error) {
       throw error.response?.data || { message: '해변별 탐지 결과 조회에 실패했습니다.' }
     }
+  },
+
+  // 특정 해변의 탐지 이력 집계 조회 (step 예: '5m', '1h', '1d')
+  getDetectionHistory: async (beachName, { from, to, step } = {}) => {
+    try {
+      const response = await apiClient.get(`/detections/beach/${beachName}/history`, {
+        params: { from, to, step }
+      })
+      return response.data
+    } catch (error) {
+      throw error.response?.data || { message: '해변별 탐지 이력 조회에 실패했습니다.' }
+    }
   }
 }